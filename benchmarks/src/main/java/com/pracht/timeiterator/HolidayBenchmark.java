@@ -0,0 +1,61 @@
+package com.pracht.timeiterator;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * Generation of {@link CommonSequences.US} business days and holidays over 100 years.
+ * Each operation builds the sequence and drains the whole range.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HolidayBenchmark {
+
+	private static final int START_YEAR = 1950;
+
+	private static final int END_YEAR = 2049;
+
+	/** Weekdays in 1950 through 2049. */
+	private static final long BUSINESS_DAY_COUNT = 26_089L;
+
+	@Benchmark
+	public long businessDays() {
+		return CommonSequences.US.BUSINESS_DAYS(TimePoint.from(LocalDateTime.of(START_YEAR, 1, 2, 0, 0)))
+				.stream()
+				.limit(BUSINESS_DAY_COUNT)
+				.count();
+	}
+
+	@Benchmark
+	public long thanksgiving() {
+		return CommonSequences.US.THANKSGIVING(START_YEAR, END_YEAR).stream().count();
+	}
+
+	@Benchmark
+	public long memorialDay() {
+		return CommonSequences.US.MEMORIAL_DAY(START_YEAR, END_YEAR).stream().count();
+	}
+
+	@Benchmark
+	public long easter() {
+		return CommonSequences.US.EASTER(START_YEAR, END_YEAR).stream().count();
+	}
+
+	@Benchmark
+	public long christmas() {
+		return CommonSequences.US.CHRISTMAS(START_YEAR).stream().limit(END_YEAR - START_YEAR + 1).count();
+	}
+}
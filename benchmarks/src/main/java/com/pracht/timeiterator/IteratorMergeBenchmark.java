@@ -0,0 +1,64 @@
+package com.pracht.timeiterator;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * Throughput of {@link TimePointIterator#next()} merging k hourly sequences with
+ * staggered starting points, in both directions. Each operation emits one point.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class IteratorMergeBenchmark {
+
+	private static final TimePoint START = TimePoint.from(LocalDateTime.of(2000, 1, 1, 0, 0));
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int sequenceCount;
+
+	@Param({ "true", "false" })
+	public boolean incrementing;
+
+	private TimePointIterator iterator;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		TimePointIterator.Builder builder = TimePointIterator.builder()
+				.startingPoint(START)
+				.incrementing(incrementing);
+		for (int i = 0; i < sequenceCount; i++) {
+			builder.sequence(TimePointSequence.builder()
+					.startingPoint(START.plus(i, ChronoUnit.SECONDS))
+					.cycleCount(1L)
+					.cycleUnit(ChronoUnit.HOURS)
+					.incrementing(incrementing)
+					.build());
+		}
+		iterator = builder.build();
+	}
+
+	@Benchmark
+	public TimePoint mergeNext() {
+		return iterator.next();
+	}
+}
@@ -0,0 +1,101 @@
+package com.pracht.timeiterator;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * Throughput of {@link TimePointSequence#next()} on long running native cycles and on
+ * deep trees of included and excluded child sequences. Each operation emits one point;
+ * the sequences are unbounded and are rebuilt at every iteration, so later iterations
+ * measure points far away from the starting point.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SequenceBenchmark {
+
+	private static final TimePoint START = TimePoint.from(LocalDateTime.of(2000, 1, 31, 9, 0));
+
+	@State(Scope.Thread)
+	public static class NativeCycleState {
+		@Param({ "HOURS", "DAYS", "MONTHS" })
+		public ChronoUnit cycleUnit;
+
+		public TimePointSequence sequence;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			sequence = TimePointSequence.builder()
+					.startingPoint(START)
+					.cycleCount(1L)
+					.cycleUnit(cycleUnit)
+					.build();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ChildTreeState {
+		@Param({ "1", "4", "16" })
+		public int depth;
+
+		public TimePointSequence sequence;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			sequence = tree(depth);
+		}
+
+		/**
+		 * Builds a daily sequence whose every level includes an hourly offset child and
+		 * excludes a weekly child of the next level.
+		 */
+		private static TimePointSequence tree(int depth) {
+			TimePointSequence.Builder builder = TimePointSequence.builder()
+					.startingPoint(START.plus(depth, ChronoUnit.HOURS))
+					.cycleCount(1L)
+					.cycleUnit(ChronoUnit.DAYS)
+					.includedChildSequence(TimePointSequence.builder()
+							.startingPoint(START.plus(depth, ChronoUnit.MINUTES))
+							.cycleCount(depth + 1L)
+							.cycleUnit(ChronoUnit.HOURS)
+							.build())
+					.excludedChildSequence(TimePointSequence.builder()
+							.startingPoint(START.plus(depth, ChronoUnit.HOURS))
+							.cycleCount(1L)
+							.cycleUnit(ChronoUnit.WEEKS)
+							.build());
+			if (depth > 1) {
+				builder.includedChildSequence(tree(depth - 1));
+			}
+			return builder.build();
+		}
+	}
+
+	@Benchmark
+	public TimePoint nativeCycleNext(NativeCycleState state) {
+		return state.sequence.next();
+	}
+
+	@Benchmark
+	public TimePoint childTreeNext(ChildTreeState state) {
+		return state.sequence.next();
+	}
+}
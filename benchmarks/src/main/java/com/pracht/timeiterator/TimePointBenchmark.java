@@ -0,0 +1,67 @@
+package com.pracht.timeiterator;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * Zoned versus local {@link TimePoint} arithmetic and comparison, the innermost
+ * operations of every sequence step.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TimePointBenchmark {
+
+	@Param({ "LOCAL", "ZONED" })
+	public String kind;
+
+	@Param({ "HOURS", "DAYS", "MONTHS" })
+	public ChronoUnit unit;
+
+	private TimePoint point;
+
+	private TimePoint other;
+
+	@Setup
+	public void setup() {
+		LocalDateTime start = LocalDateTime.of(2024, 3, 9, 22, 30);
+		point = "LOCAL".equals(kind) ? TimePoint.from(start)
+				: TimePoint.from(ZonedDateTime.of(start, ZoneId.of("America/New_York")));
+		other = point.plus(90, ChronoUnit.MINUTES);
+	}
+
+	@Benchmark
+	public TimePoint plus() {
+		return point.plus(1, unit);
+	}
+
+	@Benchmark
+	public boolean isBefore() {
+		return point.isBefore(other);
+	}
+
+	@Benchmark
+	public boolean equalsOther() {
+		return point.equals(other);
+	}
+}
@@ -0,0 +1,169 @@
+package com.pracht.timeiterator;
+
+import com.pracht.timeiterator.model.TimePoint;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * BusinessDayCalculator does business-day arithmetic without iterating over days.
+ * Weekends are handled with whole-week arithmetic: every Monday to Friday gets a running
+ * weekday index, five per week. Holidays that fall on a weekday are kept as a sorted array
+ * of those indices, so removing them from a count is a binary search. Every query costs
+ * O(log h) for h holidays, no matter how far apart the days are.
+ * <p>
+ * Only the local date of a TimePoint is considered. Results keep the time of day and the
+ * zone of the point they were calculated from.
+ */
+public final class BusinessDayCalculator {
+
+    private static final BusinessDayCalculator WEEKDAYS = new BusinessDayCalculator(new long[0]);
+
+    /** Weekday indices of the holidays, ascending and without duplicates. */
+    private final long[] holidayIndices;
+
+    /** holidayIndices[j] - j: the business index just before the j-th holiday, never decreasing. */
+    private final long[] holidayRanks;
+
+    private BusinessDayCalculator(long[] holidayEpochDays) {
+        this.holidayIndices = Arrays.stream(holidayEpochDays)
+                .filter(BusinessDayCalculator::isWeekday)
+                .map(BusinessDayCalculator::weekdayIndex)
+                .sorted()
+                .distinct()
+                .toArray();
+        this.holidayRanks = new long[holidayIndices.length];
+        for (int j = 0; j < holidayIndices.length; j++) {
+            holidayRanks[j] = holidayIndices[j] - j;
+        }
+    }
+
+    /**
+     * Returns a calculator where every Monday to Friday is a business day.
+     * 
+     * @return A calculator without holidays.
+     */
+    public static BusinessDayCalculator weekdays() {
+        return WEEKDAYS;
+    }
+
+    /**
+     * Returns a calculator where every Monday to Friday that is not a holiday of the calendar
+     * is a business day. Days outside the years of the calendar have no holidays.
+     * 
+     * @param holidayCalendar The holidays to skip.
+     * @return A new BusinessDayCalculator.
+     */
+    public static BusinessDayCalculator withHolidays(HolidayCalendar holidayCalendar) {
+        return new BusinessDayCalculator(holidayCalendar.holidayEpochDays());
+    }
+
+    /**
+     * Checks whether the local date of the point is a business day.
+     * 
+     * @param timePoint The point to check.
+     * @return true if its date is a weekday and not a holiday.
+     */
+    public boolean isBusinessDay(TimePoint timePoint) {
+        long epochDay = timePoint.toEpochDay();
+        return isWeekday(epochDay) && Arrays.binarySearch(holidayIndices, weekdayIndex(epochDay)) < 0;
+    }
+
+    /**
+     * Counts the business days from the date of start (inclusive) to the date of end (exclusive).
+     * The count is negative when end is before start.
+     * 
+     * @param start The first day to count.
+     * @param end The day after the last day to count.
+     * @return The number of business days between the two.
+     */
+    public long businessDaysBetween(TimePoint start, TimePoint end) {
+        return businessDaysBefore(end.toEpochDay()) - businessDaysBefore(start.toEpochDay());
+    }
+
+    /**
+     * Moves the point by a number of business days. A positive amount finds the amount-th
+     * business day after the date of the point, a negative amount the one before it, and
+     * zero returns the point unchanged.
+     * 
+     * @param timePoint The point to start from.
+     * @param amount The number of business days to move.
+     * @return The point on the business day found, at the same time of day.
+     */
+    public TimePoint addBusinessDays(TimePoint timePoint, long amount) {
+        if (amount == 0) {
+            return timePoint;
+        }
+        long epochDay = timePoint.toEpochDay();
+        long businessIndex = (amount > 0) ? businessDaysBefore(epochDay + 1) + amount - 1
+                : businessDaysBefore(epochDay) + amount;
+        return timePoint.plus(epochDayOf(businessIndex) - epochDay, ChronoUnit.DAYS);
+    }
+
+    /**
+     * Returns the first business day strictly after the date of the point.
+     * 
+     * @param timePoint The point to look after.
+     * @return The point on the next business day, at the same time of day.
+     */
+    public TimePoint nextBusinessDay(TimePoint timePoint) {
+        return addBusinessDays(timePoint, 1);
+    }
+
+    /**
+     * Returns the last business day strictly before the date of the point.
+     * 
+     * @param timePoint The point to look before.
+     * @return The point on the previous business day, at the same time of day.
+     */
+    public TimePoint previousBusinessDay(TimePoint timePoint) {
+        return addBusinessDays(timePoint, -1);
+    }
+
+    /**
+     * Counts the business days before the epoch day, relative to the Monday starting the epoch week.
+     */
+    private long businessDaysBefore(long epochDay) {
+        long weekdays = weekdayIndex(epochDay);
+        return weekdays - lowerBound(holidayIndices, weekdays);
+    }
+
+    /**
+     * Finds the epoch day of the business day with the given index. The holidays passed on the
+     * way are exactly those whose rank is at most the index.
+     */
+    private long epochDayOf(long businessIndex) {
+        long weekdays = businessIndex + lowerBound(holidayRanks, businessIndex + 1);
+        return Math.floorDiv(weekdays, 5) * 7 + Math.floorMod(weekdays, 5) - 3;
+    }
+
+    /**
+     * Returns the number of weekdays before the epoch day, counted from the Monday that starts
+     * the week of 1970-01-01. For a weekday this is its own weekday index.
+     */
+    private static long weekdayIndex(long epochDay) {
+        // Epoch day 0 (1970-01-01) was a Thursday, three days after Monday
+        long mondayBasedDay = epochDay + 3;
+        return Math.floorDiv(mondayBasedDay, 7) * 5 + Math.min(Math.floorMod(mondayBasedDay, 7), 5);
+    }
+
+    private static boolean isWeekday(long epochDay) {
+        return Math.floorMod(epochDay + 3, 7) < 5;
+    }
+
+    /**
+     * Returns the number of values in the sorted array that are less than the key.
+     */
+    private static int lowerBound(long[] sortedValues, long key) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -3,9 +3,12 @@ package com.pracht.timeiterator;
 import com.pracht.timeiterator.model.TimePoint;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -19,6 +22,71 @@ public class CommonSequences {
      */
     public static class US {
 
+        /** The rule for the start of daylight saving time, shared by every DST_START sequence. */
+        private static final TemporalAdjuster DST_START_RULE = TemporalAdjusters.dayOfWeekInMonth(2, DayOfWeek.SUNDAY);
+
+        /** The rule for the end of daylight saving time, shared by every DST_END sequence. */
+        private static final TemporalAdjuster DST_END_RULE = TemporalAdjusters.dayOfWeekInMonth(1, DayOfWeek.SUNDAY);
+
+        /**
+         * The US holidays as rules that give the date of the holiday in any year.
+         */
+        public enum Holiday {
+            NEW_YEARS_DAY(1, 1, null),
+            MARTIN_LUTHER_KING_DAY(1, 1, TemporalAdjusters.dayOfWeekInMonth(3, DayOfWeek.MONDAY)),
+            PRESIDENTS_DAY(2, 1, TemporalAdjusters.dayOfWeekInMonth(3, DayOfWeek.MONDAY)),
+            GOOD_FRIDAY(3, 1, easterOffset(-2)),
+            EASTER(3, 1, easterOffset(0)),
+            MEMORIAL_DAY(5, 1, TemporalAdjusters.lastInMonth(DayOfWeek.MONDAY)),
+            JUNETEENTH(6, 19, null),
+            INDEPENDENCE_DAY(7, 4, null),
+            LABOR_DAY(9, 1, TemporalAdjusters.dayOfWeekInMonth(1, DayOfWeek.MONDAY)),
+            COLUMBUS_DAY(10, 1, TemporalAdjusters.dayOfWeekInMonth(2, DayOfWeek.MONDAY)),
+            VETERANS_DAY(11, 11, null),
+            THANKSGIVING(11, 1, TemporalAdjusters.dayOfWeekInMonth(4, DayOfWeek.THURSDAY)),
+            CHRISTMAS(12, 25, null);
+
+            private final int month;
+
+            private final int day;
+
+            private final TemporalAdjuster rule;
+
+            /** Moves a date to this holiday in its year, looked up in the shared {@link HolidayDateCache}. */
+            private final TemporalAdjuster cachedRule;
+
+            Holiday(int month, int day, TemporalAdjuster rule) {
+                this.month = month;
+                this.day = day;
+                this.rule = rule;
+                this.cachedRule = temporal -> temporal.with(ChronoField.EPOCH_DAY,
+                        holidayDate(this, temporal.get(ChronoField.YEAR)).toEpochDay());
+            }
+
+            /**
+             * Calculates the date of this holiday in the given year.
+             * 
+             * @param year The year.
+             * @return The date of the holiday.
+             */
+            public LocalDate dateIn(int year) {
+                LocalDate anchor = LocalDate.of(year, month, day);
+                return (rule == null) ? anchor : anchor.with(rule);
+            }
+        }
+
+        /**
+         * Returns the date of a holiday from the shared {@link HolidayDateCache}, which covers
+         * the years 1900 to 2199. Dates within those years are calculated once and then reused.
+         * 
+         * @param holiday The holiday.
+         * @param year The year.
+         * @return The start of the holiday as a TimePoint.
+         */
+        public static TimePoint holidayDate(Holiday holiday, int year) {
+            return HolidayDateCache.shared().get(holiday, year);
+        }
+
         /**
          * Returns a sequence representing every Monday through Friday, starting from the given point.
          * 
@@ -52,13 +120,26 @@ public class CommonSequences {
             return iteratorBuilder.build();
         }
 
+        /**
+         * Returns a calculator for business-day arithmetic: Monday through Friday, skipping the
+         * holidays of {@link #HOLIDAY_CALENDAR(int, int)} for the given years.
+         * 
+         * @param startYear The first year with holidays.
+         * @param endYear The last year with holidays.
+         * @return A BusinessDayCalculator.
+         * @implNote Days outside the range are treated as having no holidays.
+         */
+        public static BusinessDayCalculator BUSINESS_DAY_CALCULATOR(int startYear, int endYear) {
+            return BusinessDayCalculator.withHolidays(HOLIDAY_CALENDAR(startYear, endYear));
+        }
+
         /**
          * New Year's Day: Fixed annual date on January 1st.
          * @param startYear The first year to include in the sequence.
          * @return A TimePointSequence for Jan 1st.
          */
         public static TimePointSequence NEW_YEARS_DAY(int startYear) {
-            return annualFixedHoliday(startYear, 1, 1);
+            return annualFixedHoliday(startYear, Holiday.NEW_YEARS_DAY);
         }
 
         /**
@@ -76,7 +157,7 @@ public class CommonSequences {
          * @return A TimePointSequence for June 19th.
          */
         public static TimePointSequence JUNETEENTH(int startYear) {
-            return annualFixedHoliday(startYear, 6, 19);
+            return annualFixedHoliday(startYear, Holiday.JUNETEENTH);
         }
 
         /**
@@ -85,7 +166,7 @@ public class CommonSequences {
          * @return A TimePointSequence for July 4th.
          */
         public static TimePointSequence INDEPENDENCE_DAY(int startYear) {
-            return annualFixedHoliday(startYear, 7, 4);
+            return annualFixedHoliday(startYear, Holiday.INDEPENDENCE_DAY);
         }
 
         /**
@@ -151,7 +232,7 @@ public class CommonSequences {
          *           historical rules prior to 2007 or regions that do not observe DST.
          */
         public static TimePointIterator DST_START(int startYear, int endYear) {
-            return annualFloatingHoliday(startYear, endYear, 3, 2, DayOfWeek.SUNDAY);
+            return annualRuleHoliday(startYear, endYear, 3, DST_START_RULE);
         }
 
         /**
@@ -164,7 +245,7 @@ public class CommonSequences {
          *           historical rules prior to 2007 or regions that do not observe DST.
          */
         public static TimePointIterator DST_END(int startYear, int endYear) {
-            return annualFloatingHoliday(startYear, endYear, 11, 1, DayOfWeek.SUNDAY);
+            return annualRuleHoliday(startYear, endYear, 11, DST_END_RULE);
         }
 
         /**
@@ -173,7 +254,7 @@ public class CommonSequences {
          * @return A TimePointSequence for Nov 11th.
          */
         public static TimePointSequence VETERANS_DAY(int startYear) {
-            return annualFixedHoliday(startYear, 11, 11);
+            return annualFixedHoliday(startYear, Holiday.VETERANS_DAY);
         }
 
         /**
@@ -182,7 +263,7 @@ public class CommonSequences {
          * @return A TimePointSequence for Dec 25th.
          */
         public static TimePointSequence CHRISTMAS(int startYear) {
-            return annualFixedHoliday(startYear, 12, 25);
+            return annualFixedHoliday(startYear, Holiday.CHRISTMAS);
         }
 
         /**
@@ -192,7 +273,7 @@ public class CommonSequences {
          * @return A TimePointIterator for MLK Day.
          */
         public static TimePointIterator MARTIN_LUTHER_KING_DAY(int startYear, int endYear) {
-            return annualFloatingHoliday(startYear, endYear, 1, 3, DayOfWeek.MONDAY);
+            return annualRuleHoliday(startYear, endYear, Holiday.MARTIN_LUTHER_KING_DAY);
         }
 
         /**
@@ -202,7 +283,7 @@ public class CommonSequences {
          * @return A TimePointIterator for Presidents' Day.
          */
         public static TimePointIterator PRESIDENTS_DAY(int startYear, int endYear) {
-            return annualFloatingHoliday(startYear, endYear, 2, 3, DayOfWeek.MONDAY);
+            return annualRuleHoliday(startYear, endYear, Holiday.PRESIDENTS_DAY);
         }
 
         /**
@@ -212,19 +293,7 @@ public class CommonSequences {
          * @return A TimePointIterator for Memorial Day.
          */
         public static TimePointIterator MEMORIAL_DAY(int startYear, int endYear) {
-            TimePointIterator.Builder builder = TimePointIterator.builder()
-                    .startingPoint(TimePoint.builder().year(startYear).month(5).day(1).build());
-            
-            for (int year = startYear; year <= endYear; year++) {
-                LocalDate lastMonday = LocalDate.of(year, 5, 31)
-                        .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-                
-                builder.sequence(TimePointSequence.builder()
-                        .startingPoint(TimePoint.from(lastMonday.atStartOfDay()))
-                        .maximumPointCount(1L)
-                        .build());
-            }
-            return builder.build();
+            return annualRuleHoliday(startYear, endYear, Holiday.MEMORIAL_DAY);
         }
 
         /**
@@ -234,7 +303,7 @@ public class CommonSequences {
          * @return A TimePointIterator for Labor Day.
          */
         public static TimePointIterator LABOR_DAY(int startYear, int endYear) {
-            return annualFloatingHoliday(startYear, endYear, 9, 1, DayOfWeek.MONDAY);
+            return annualRuleHoliday(startYear, endYear, Holiday.LABOR_DAY);
         }
 
         /**
@@ -244,7 +313,7 @@ public class CommonSequences {
          * @return A TimePointIterator for Columbus Day.
          */
         public static TimePointIterator COLUMBUS_DAY(int startYear, int endYear) {
-            return annualFloatingHoliday(startYear, endYear, 10, 2, DayOfWeek.MONDAY);
+            return annualRuleHoliday(startYear, endYear, Holiday.COLUMBUS_DAY);
         }
 
         /**
@@ -254,7 +323,7 @@ public class CommonSequences {
          * @return A TimePointIterator for Thanksgiving.
          */
         public static TimePointIterator THANKSGIVING(int startYear, int endYear) {
-            return annualFloatingHoliday(startYear, endYear, 11, 4, DayOfWeek.THURSDAY);
+            return annualRuleHoliday(startYear, endYear, Holiday.THANKSGIVING);
         }
 
         /**
@@ -267,16 +336,7 @@ public class CommonSequences {
          *           The algorithm is accurate for all Gregorian years from 1583 to 4099.
          */
         public static TimePointIterator EASTER(int startYear, int endYear) {
-            TimePointIterator.Builder builder = TimePointIterator.builder()
-                    .startingPoint(TimePoint.builder().year(startYear).month(3).day(1).build());
-            
-            for (int year = startYear; year <= endYear; year++) {
-                builder.sequence(TimePointSequence.builder()
-                        .startingPoint(calculateEaster(year))
-                        .maximumPointCount(1L)
-                        .build());
-            }
-            return builder.build();
+            return annualRuleHoliday(startYear, endYear, Holiday.EASTER);
         }
 
         /**
@@ -287,20 +347,42 @@ public class CommonSequences {
          * @return A TimePointIterator for Good Friday.
          */
         public static TimePointIterator GOOD_FRIDAY(int startYear, int endYear) {
-            TimePointIterator.Builder builder = TimePointIterator.builder()
-                    .startingPoint(TimePoint.builder().year(startYear).month(3).day(1).build());
-            
-            for (int year = startYear; year <= endYear; year++) {
-                TimePoint easter = calculateEaster(year);
-                builder.sequence(TimePointSequence.builder()
-                        .startingPoint(easter.minus(2, ChronoUnit.DAYS))
-                        .maximumPointCount(1L)
-                        .build());
+            return annualRuleHoliday(startYear, endYear, Holiday.GOOD_FRIDAY);
+        }
+
+        /**
+         * Returns a rule that moves a date to Easter Sunday of its year, offset by a number of days.
+         * 
+         * @param offsetDays The days to add to Easter Sunday, e.g. -2 for Good Friday.
+         * @return A TemporalAdjuster for use with {@link TimePointSequence.Builder#adjuster}.
+         */
+        public static TemporalAdjuster easterOffset(long offsetDays) {
+            return temporal -> {
+                LocalDate easter = calculateEaster(temporal.get(ChronoField.YEAR));
+                return temporal.with(ChronoField.EPOCH_DAY, easter.toEpochDay() + offsetDays);
+            };
+        }
+
+        /**
+         * Holiday calendar: every US holiday defined here, precomputed for fast lookups.
+         * Includes the eleven federal holidays plus Good Friday and Easter Sunday.
+         * 
+         * @param startYear The first year in the range.
+         * @param endYear The last year in the range.
+         * @return A HolidayCalendar covering the range.
+         * @implNote Observances such as Halloween, New Year's Eve, the equinoxes, the solstices
+         *           and the DST changes are not holidays and are left out. Holidays falling on a
+         *           weekend are not shifted to an observed weekday.
+         */
+        public static HolidayCalendar HOLIDAY_CALENDAR(int startYear, int endYear) {
+            List<Iterator<TimePoint>> holidays = new ArrayList<>();
+            for (Holiday holiday : Holiday.values()) {
+                holidays.add(annualRuleHoliday(startYear, endYear, holiday));
             }
-            return builder.build();
+            return HolidayCalendar.of(startYear, endYear, holidays);
         }
 
-        private static TimePoint calculateEaster(int year) {
+        private static LocalDate calculateEaster(int year) {
             int a = year % 19;
             int b = year / 100;
             int c = year % 100;
@@ -315,7 +397,7 @@ public class CommonSequences {
             int m = (a + 11 * h + 22 * l) / 451;
             int month = (h + l - 7 * m + 114) / 31;
             int day = ((h + l - 7 * m + 114) % 31) + 1;
-            return TimePoint.builder().year(year).month(month).day(day).build();
+            return LocalDate.of(year, month, day);
         }
 
         private static TimePointSequence annualFixedHoliday(int startYear, int month, int day) {
@@ -326,23 +408,41 @@ public class CommonSequences {
                     .build();
         }
 
-        private static TimePointIterator annualFloatingHoliday(int startYear, int endYear, int month, int occurrence, DayOfWeek dayOfWeek) {
-            TimePointIterator.Builder builder = TimePointIterator.builder()
-                    .startingPoint(TimePoint.builder().year(startYear).month(month).day(1).build());
-            
-            for (int year = startYear; year <= endYear; year++) {
-                TimePoint startOfMonth = TimePoint.builder().year(year).month(month).day(1).build();
-                TimePoint holiday = TimePointSequence.builder()
-                        .startingPoint(startOfMonth, occurrence, dayOfWeek)
-                        .build()
-                        .getStartingPoint();
-                
-                builder.sequence(TimePointSequence.builder()
-                        .startingPoint(holiday)
-                        .maximumPointCount(1L)
-                        .build());
-            }
-            return builder.build();
+        private static TimePointSequence annualFixedHoliday(int startYear, Holiday holiday) {
+            return TimePointSequence.builder()
+                    .startingPoint(holidayDate(holiday, startYear))
+                    .cycleCount(1L)
+                    .cycleUnit(ChronoUnit.YEARS)
+                    .build();
+        }
+
+        /**
+         * Builds a single yearly sequence of the holiday, whose date in each year is looked up
+         * in the shared {@link HolidayDateCache}. Every sequence of the holiday shares its one
+         * adjuster, so equal ranges give equal sequences.
+         */
+        private static TimePointIterator annualRuleHoliday(int startYear, int endYear, Holiday holiday) {
+            return annualRuleHoliday(startYear, endYear, holiday.month, holiday.cachedRule);
+        }
+
+        /**
+         * Builds a single yearly sequence whose date in each year is given by the rule, applied
+         * to the first day of the month. Each year is computed on demand, so the range does not
+         * change the memory used or the cost of a step. Sequences compare their adjusters by
+         * identity, so the rule should be a shared constant for equal calls to give equal sequences.
+         */
+        private static TimePointIterator annualRuleHoliday(int startYear, int endYear, int month, TemporalAdjuster rule) {
+            TimePoint startOfMonth = TimePoint.builder().year(startYear).month(month).day(1).build();
+            return TimePointIterator.builder()
+                    .startingPoint(startOfMonth)
+                    .sequence(TimePointSequence.builder()
+                            .startingPoint(startOfMonth)
+                            .cycleCount(1L)
+                            .cycleUnit(ChronoUnit.YEARS)
+                            .adjuster(rule)
+                            .endingPoint(TimePoint.builder().year(endYear).month(12).day(31).build())
+                            .build())
+                    .build();
         }
     }
 }
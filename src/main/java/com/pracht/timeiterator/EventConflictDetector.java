@@ -0,0 +1,130 @@
+package com.pracht.timeiterator;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import com.pracht.timeiterator.model.EventConflict;
+import com.pracht.timeiterator.model.EventInterval;
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * EventConflictDetector reports the events of many sequences that overlap each other, without
+ * taking the whole timeline into memory. It sweeps through the events in start order: the
+ * sequences are merged on their next start, and the events going on are kept in a heap ordered
+ * by finish. When an event starts, the events that finished by then are dropped and every event
+ * still going on conflicts with the new one. Each event costs O(log k), for k the number of
+ * sequences or events going on, each conflict O(1), and memory stays at the events going on.
+ * <p>
+ * Conflicts are produced lazily, in the order of the start of their second event. The sequences
+ * themselves are not advanced; the detector walks copies of them.
+ *
+ * @author bpracht
+ */
+public final class EventConflictDetector implements Iterator<EventConflict> {
+	private static final Comparator<EventInterval> BY_FINISH = (interval1, interval2) -> SequenceHeads
+			.compareAscending(interval1.getFinish(), interval2.getFinish());
+
+	private final SequenceHeads heads;
+
+	private final TimePoint windowStart;
+
+	private final TimePoint windowEnd;
+
+	private final PriorityQueue<EventInterval> active = new PriorityQueue<>(BY_FINISH);
+
+	private final ArrayDeque<EventConflict> pending = new ArrayDeque<>();
+
+	private EventConflictDetector(List<TimePointSequence> sequences, TimePoint windowStart, TimePoint windowEnd) {
+		this.heads = new SequenceHeads(true, sequences.size());
+		this.windowStart = windowStart;
+		this.windowEnd = windowEnd;
+		int sourceIndex = 0;
+		for (TimePointSequence sequence : sequences) {
+			if (!sequence.getIncrementing()) {
+				throw new IllegalArgumentException("Only incrementing sequences can be swept, not: " + sequence);
+			}
+			if (sequence.getEventDuration() != null && sequence.getEventDurationUnit() != null) {
+				TimePointSequence walker = sequence.copy();
+				// Start from the first event that finishes after the window starts
+				walker.skipThrough(windowStart.minus(sequence.getEventDuration(), sequence.getEventDurationUnit()));
+				heads.offer(walker, sourceIndex, walker.peekNext());
+			}
+			sourceIndex++;
+		}
+	}
+
+	/**
+	 * Creates a detector for the events of the sequences that overlap the window. Each point a
+	 * sequence has left to return starts an event lasting its eventDuration in its
+	 * eventDurationUnit; sequences without a duration have no events. The sourceIndex of an
+	 * event is the position of its sequence in the list.
+	 *
+	 * @param sequences The incrementing sequences to take events from.
+	 * @param windowStart The start of the window, inclusive.
+	 * @param windowEnd The end of the window, exclusive.
+	 * @return A new EventConflictDetector.
+	 * @throws IllegalArgumentException if a sequence is decrementing.
+	 */
+	public static EventConflictDetector of(List<TimePointSequence> sequences, TimePoint windowStart, TimePoint windowEnd) {
+		return new EventConflictDetector(sequences, windowStart, windowEnd);
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (pending.isEmpty() && sweep()) {
+			// Keep sweeping until an event starts while others are going on
+		}
+		return !pending.isEmpty();
+	}
+
+	@Override
+	public EventConflict next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return pending.poll();
+	}
+
+	/**
+	 * Returns the number of events going on at the last start swept, the memory the detector
+	 * holds on to.
+	 *
+	 * @return The number of active events.
+	 */
+	public int getActiveCount() {
+		return active.size();
+	}
+
+	/**
+	 * Takes the next event in start order and queues its conflicts with the events going on.
+	 *
+	 * @return false once no event starts before the end of the window.
+	 */
+	private boolean sweep() {
+		TimePoint start = heads.peekHead();
+		if (start == null || !start.isBefore(windowEnd)) {
+			return false;
+		}
+		TimePointSequence sequence = heads.peekSequence();
+		int sourceIndex = heads.peekPosition();
+		sequence.next();
+		heads.rekeyTop(sequence.peekNext());
+		TimePoint finish = start.plus(sequence.getEventDuration(), sequence.getEventDurationUnit());
+		if (!finish.isAfter(start) || !finish.isAfter(windowStart)) {
+			return true;
+		}
+		while (!active.isEmpty() && !active.peek().getFinish().isAfter(start)) {
+			active.poll();
+		}
+		EventInterval event = new EventInterval(start, finish, sourceIndex);
+		for (EventInterval going : active) {
+			pending.add(new EventConflict(going, event));
+		}
+		active.add(event);
+		return true;
+	}
+}
@@ -0,0 +1,260 @@
+package com.pracht.timeiterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.pracht.timeiterator.model.EventInterval;
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * EventIntervalIndex answers which events are going on at a point, or during a range, across
+ * many sequences. The events are kept in a centered interval tree: each node holds the events
+ * that contain its center, listed by start and by finish, with the events that finish by the
+ * center in its left subtree and those that start after it in its right one. A point query
+ * follows one path down the tree, O(log n) nodes, and at each node reads only the events that
+ * match and the one that ends the scan, so it finds the k events going on in O(log n + k);
+ * returning them in start order adds O(k log k). A range query is a point query at the start
+ * of the range plus a binary search for the events that start inside it.
+ * <p>
+ * The index is immutable once built and can be queried from several threads.
+ *
+ * @author bpracht
+ */
+public final class EventIntervalIndex {
+	private static final Comparator<EventInterval> BY_START = (interval1, interval2) -> SequenceHeads
+			.compareAscending(interval1.getStart(), interval2.getStart());
+
+	private final EventInterval[] intervals;
+
+	private final Node root;
+
+	private EventIntervalIndex(List<EventInterval> events) {
+		this.intervals = events.toArray(new EventInterval[0]);
+		Arrays.sort(intervals, BY_START);
+		this.root = build(IntStream.range(0, intervals.length).toArray());
+	}
+
+	/**
+	 * Builds an index of the given events.
+	 *
+	 * @param events The events to index; events that finish at or before their start are left out.
+	 * @return A new EventIntervalIndex.
+	 */
+	public static EventIntervalIndex of(List<EventInterval> events) {
+		List<EventInterval> nonEmpty = new ArrayList<>(events.size());
+		for (EventInterval event : events) {
+			if (event.getFinish().isAfter(event.getStart())) {
+				nonEmpty.add(event);
+			}
+		}
+		return new EventIntervalIndex(nonEmpty);
+	}
+
+	/**
+	 * Builds an index of the events of the sequences that overlap the window. Each point a
+	 * sequence has left to return starts an event lasting its eventDuration in its
+	 * eventDurationUnit, as {@link TimePointSequence#peekFinish()} computes it. The sequences
+	 * themselves are not advanced. The sourceIndex of an event is the position of its sequence
+	 * in the list.
+	 *
+	 * @param sequences The sequences to take events from.
+	 * @param windowStart The start of the window, inclusive.
+	 * @param windowEnd The end of the window, exclusive.
+	 * @return A new EventIntervalIndex.
+	 */
+	public static EventIntervalIndex of(List<TimePointSequence> sequences, TimePoint windowStart, TimePoint windowEnd) {
+		List<EventInterval> events = new ArrayList<>();
+		int sourceIndex = 0;
+		for (TimePointSequence sequence : sequences) {
+			collectEvents(sequence, sourceIndex++, windowStart, windowEnd, events);
+		}
+		return of(events);
+	}
+
+	private static void collectEvents(TimePointSequence sequence, int sourceIndex, TimePoint windowStart, TimePoint windowEnd,
+			List<EventInterval> events) {
+		if (sequence.getEventDuration() == null || sequence.getEventDurationUnit() == null) {
+			return;
+		}
+		TimePointSequence walker = sequence.copy();
+		boolean incrementing = walker.getIncrementing();
+		// Incrementing, events starting a duration or more before the window finish before it;
+		// decrementing, the events starting at or after its end come first
+		walker.skipThrough(incrementing ? windowStart.minus(sequence.getEventDuration(), sequence.getEventDurationUnit()) : windowEnd);
+		for (TimePoint start = walker.peekNext(); start != null; start = walker.peekNext()) {
+			TimePoint finish = start.plus(sequence.getEventDuration(), sequence.getEventDurationUnit());
+			// Incrementing, later events start later; decrementing, earlier events finish earlier
+			if (incrementing ? !start.isBefore(windowEnd) : !finish.isAfter(windowStart)) {
+				break;
+			}
+			if (start.isBefore(windowEnd) && finish.isAfter(windowStart)) {
+				events.add(new EventInterval(start, finish, sourceIndex));
+			}
+			walker.next();
+		}
+	}
+
+	/**
+	 * Returns the events going on at the given point: started at or before it and not finished.
+	 *
+	 * @param timePoint The point to stab the events with.
+	 * @return The events containing the point, ordered by start.
+	 */
+	public List<EventInterval> activeAt(TimePoint timePoint) {
+		List<EventInterval> result = new ArrayList<>();
+		for (int index : stab(timePoint)) {
+			result.add(intervals[index]);
+		}
+		return result;
+	}
+
+	/**
+	 * Checks whether any event is going on at the given point.
+	 *
+	 * @param timePoint The point to check.
+	 * @return true if at least one event contains the point.
+	 */
+	public boolean isActiveAt(TimePoint timePoint) {
+		Node node = root;
+		while (node != null) {
+			if (timePoint.isBefore(node.center)) {
+				if (!intervals[node.byStart[0]].getStart().isAfter(timePoint)) {
+					return true;
+				}
+				node = node.left;
+			} else {
+				if (intervals[node.byFinish[0]].getFinish().isAfter(timePoint)) {
+					return true;
+				}
+				node = node.right;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the events that share any time with the range from rangeStart up to rangeEnd.
+	 *
+	 * @param rangeStart The start of the range, inclusive.
+	 * @param rangeEnd The end of the range, exclusive.
+	 * @return The overlapping events, ordered by start.
+	 */
+	public List<EventInterval> overlapping(TimePoint rangeStart, TimePoint rangeEnd) {
+		List<EventInterval> result = new ArrayList<>();
+		if (!rangeStart.isBefore(rangeEnd)) {
+			return result;
+		}
+		// The events going on at the start of the range that started before it
+		for (int index : stab(rangeStart)) {
+			if (intervals[index].getStart().isBefore(rangeStart)) {
+				result.add(intervals[index]);
+			}
+		}
+		// and the events starting inside it, which all finish after its start
+		for (int index = firstStartingAt(rangeStart); index < intervals.length && intervals[index].getStart().isBefore(rangeEnd); index++) {
+			result.add(intervals[index]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of events in the index.
+	 *
+	 * @return The number of events.
+	 */
+	public int size() {
+		return intervals.length;
+	}
+
+	/**
+	 * Builds the subtree of the events at the given positions, which are in start order. The
+	 * center is the start of the middle event, so at most half of the events finish by it and
+	 * at most half start after it, and the tree stays balanced.
+	 */
+	private Node build(int[] members) {
+		if (members.length == 0) {
+			return null;
+		}
+		TimePoint center = intervals[members[members.length >>> 1]].getStart();
+		int[] before = Arrays.stream(members).filter(index -> !intervals[index].getFinish().isAfter(center)).toArray();
+		int[] after = Arrays.stream(members).filter(index -> intervals[index].getStart().isAfter(center)).toArray();
+		int[] byStart = Arrays.stream(members)
+				.filter(index -> !intervals[index].getStart().isAfter(center) && intervals[index].getFinish().isAfter(center))
+				.toArray();
+		int[] byFinish = Arrays.stream(byStart).boxed()
+				.sorted((index1, index2) -> SequenceHeads.compareAscending(intervals[index2].getFinish(), intervals[index1].getFinish()))
+				.mapToInt(Integer::intValue).toArray();
+		return new Node(center, byStart, byFinish, build(before), build(after));
+	}
+
+	/**
+	 * Returns the positions of the events containing the point, in start order.
+	 */
+	private int[] stab(TimePoint timePoint) {
+		IntStream.Builder matches = IntStream.builder();
+		Node node = root;
+		while (node != null) {
+			if (timePoint.isBefore(node.center)) {
+				// Every event here finishes after the center, so the ones started by the point contain it
+				for (int index : node.byStart) {
+					if (intervals[index].getStart().isAfter(timePoint)) {
+						break;
+					}
+					matches.add(index);
+				}
+				node = node.left;
+			} else {
+				// Every event here starts by the center, so the ones not finished by the point contain it
+				for (int index : node.byFinish) {
+					if (!intervals[index].getFinish().isAfter(timePoint)) {
+						break;
+					}
+					matches.add(index);
+				}
+				node = node.right;
+			}
+		}
+		return matches.build().sorted().toArray();
+	}
+
+	private int firstStartingAt(TimePoint timePoint) {
+		int low = 0;
+		int high = intervals.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (intervals[middle].getStart().isBefore(timePoint)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * A node of the tree: the events containing the center, as positions in the sorted events,
+	 * in start order and latest finish first.
+	 */
+	private static class Node {
+		private final TimePoint center;
+
+		private final int[] byStart;
+
+		private final int[] byFinish;
+
+		private final Node left;
+
+		private final Node right;
+
+		private Node(TimePoint center, int[] byStart, int[] byFinish, Node left, Node right) {
+			this.center = center;
+			this.byStart = byStart;
+			this.byFinish = byFinish;
+			this.left = left;
+			this.right = right;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package com.pracht.timeiterator;
+
+import com.pracht.timeiterator.model.TimePoint;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * HolidayCalendar is a precomputed set of holiday dates over a range of years.
+ * Every day in the range is one bit of a {@code long[]} indexed by epoch day, so a
+ * membership check is a single array read and finding the next or previous holiday
+ * scans a word (64 days) at a time.
+ */
+public final class HolidayCalendar {
+
+    @Getter
+    private final int firstYear;
+
+    @Getter
+    private final int lastYear;
+
+    private final long firstEpochDay;
+
+    private final int dayCount;
+
+    private final long[] words;
+
+    private HolidayCalendar(int firstYear, int lastYear) {
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.firstEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.dayCount = Math.toIntExact(LocalDate.of(lastYear, 12, 31).toEpochDay() - firstEpochDay + 1);
+        this.words = new long[(dayCount + 63) >>> 6];
+    }
+
+    /**
+     * Builds a calendar from the points of the given holiday sources. Each source is drawn
+     * until it passes the end of the last year; points before the first year are skipped.
+     * Only the local date of a point is used.
+     * 
+     * @param firstYear The first year covered by the calendar.
+     * @param lastYear The last year covered by the calendar.
+     * @param holidays Incrementing sequences or iterators of holiday points; they are consumed.
+     * @return A new HolidayCalendar.
+     * @throws IllegalArgumentException if lastYear is before firstYear.
+     */
+    public static HolidayCalendar of(int firstYear, int lastYear, List<? extends Iterator<TimePoint>> holidays) {
+        if (lastYear < firstYear) {
+            throw new IllegalArgumentException("lastYear " + lastYear + " is before firstYear " + firstYear);
+        }
+        HolidayCalendar calendar = new HolidayCalendar(firstYear, lastYear);
+        for (Iterator<TimePoint> holiday : holidays) {
+            while (holiday.hasNext()) {
+                long index = holiday.next().toEpochDay() - calendar.firstEpochDay;
+                if (index >= calendar.dayCount) {
+                    break;
+                }
+                if (index >= 0) {
+                    calendar.words[(int) (index >>> 6)] |= 1L << index;
+                }
+            }
+        }
+        return calendar;
+    }
+
+    /**
+     * Checks whether the local date of the given point is a holiday.
+     * 
+     * @param timePoint The point to check.
+     * @return true if its date is a holiday.
+     * @throws IllegalArgumentException if the date is outside the years of this calendar.
+     */
+    public boolean isHoliday(TimePoint timePoint) {
+        return isHoliday(timePoint.toEpochDay());
+    }
+
+    /**
+     * Checks whether the given date is a holiday.
+     * 
+     * @param date The date to check.
+     * @return true if the date is a holiday.
+     * @throws IllegalArgumentException if the date is outside the years of this calendar.
+     */
+    public boolean isHoliday(LocalDate date) {
+        return isHoliday(date.toEpochDay());
+    }
+
+    /**
+     * Checks whether the given epoch day is a holiday.
+     * 
+     * @param epochDay The days since 1970-01-01.
+     * @return true if the day is a holiday.
+     * @throws IllegalArgumentException if the day is outside the years of this calendar.
+     */
+    public boolean isHoliday(long epochDay) {
+        long index = epochDay - firstEpochDay;
+        if (index < 0 || index >= dayCount) {
+            throw new IllegalArgumentException("Epoch day " + epochDay + " is outside " + firstYear + "-" + lastYear);
+        }
+        return (words[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the first holiday strictly after the local date of the given point.
+     * 
+     * @param timePoint The point to look after.
+     * @return The start of the next holiday, or null if there is none within this calendar.
+     */
+    public TimePoint nextHoliday(TimePoint timePoint) {
+        long index = nextIndex(timePoint.toEpochDay() - firstEpochDay + 1);
+        return (index < 0) ? null : TimePoint.ofEpochDay(firstEpochDay + index);
+    }
+
+    /**
+     * Returns the last holiday strictly before the local date of the given point.
+     * 
+     * @param timePoint The point to look before.
+     * @return The start of the previous holiday, or null if there is none within this calendar.
+     */
+    public TimePoint previousHoliday(TimePoint timePoint) {
+        long index = previousIndex(timePoint.toEpochDay() - firstEpochDay - 1);
+        return (index < 0) ? null : TimePoint.ofEpochDay(firstEpochDay + index);
+    }
+
+    /**
+     * Returns the epoch days of all holidays in this calendar, in ascending order.
+     */
+    long[] holidayEpochDays() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        long[] epochDays = new long[count];
+        long index = nextIndex(0);
+        for (int i = 0; i < count; i++) {
+            epochDays[i] = firstEpochDay + index;
+            index = nextIndex(index + 1);
+        }
+        return epochDays;
+    }
+
+    /**
+     * Returns the index of the first holiday at or after the given index, or -1.
+     */
+    private long nextIndex(long fromIndex) {
+        if (fromIndex >= dayCount) {
+            return -1;
+        }
+        int index = (int) Math.max(0, fromIndex);
+        int wordIndex = index >>> 6;
+        long word = words[wordIndex] & (-1L << index);
+        while (word == 0) {
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+        return ((long) wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the index of the last holiday at or before the given index, or -1.
+     */
+    private long previousIndex(long fromIndex) {
+        if (fromIndex < 0) {
+            return -1;
+        }
+        int index = (int) Math.min(dayCount - 1, fromIndex);
+        int wordIndex = index >>> 6;
+        long word = words[wordIndex] & (-1L >>> (63 - (index & 63)));
+        while (word == 0) {
+            if (--wordIndex < 0) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+        return ((long) wordIndex << 6) + 63 - Long.numberOfLeadingZeros(word);
+    }
+}
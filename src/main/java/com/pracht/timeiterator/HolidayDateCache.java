@@ -0,0 +1,112 @@
+package com.pracht.timeiterator;
+
+import com.pracht.timeiterator.CommonSequences.US.Holiday;
+import com.pracht.timeiterator.model.TimePoint;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.Getter;
+
+/**
+ * HolidayDateCache keeps the dates of every {@link Holiday} for a fixed window of years.
+ * A year is calculated the first time any of its holidays is asked for, and from then on
+ * lookups read the stored TimePoint without calculating or allocating anything.
+ * The cache is safe for concurrent use: a year is published with a single atomic write,
+ * and a race only means two threads calculate the same (equal) dates. Years outside the
+ * window are calculated on every call and never stored, so memory stays bounded.
+ */
+public final class HolidayDateCache {
+
+    private static final Holiday[] HOLIDAYS = Holiday.values();
+
+    @Getter
+    private final int firstYear;
+
+    @Getter
+    private final int lastYear;
+
+    private final AtomicReferenceArray<TimePoint[]> datesByYear;
+
+    /**
+     * Creates an empty cache for the given years.
+     * 
+     * @param firstYear The first year to keep.
+     * @param lastYear The last year to keep.
+     * @throws IllegalArgumentException if lastYear is before firstYear.
+     */
+    public HolidayDateCache(int firstYear, int lastYear) {
+        if (lastYear < firstYear) {
+            throw new IllegalArgumentException("lastYear " + lastYear + " is before firstYear " + firstYear);
+        }
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.datesByYear = new AtomicReferenceArray<>(Math.toIntExact((long) lastYear - firstYear + 1));
+    }
+
+    /**
+     * Returns the cache shared by {@link CommonSequences.US#holidayDate}, covering 1900 to 2199.
+     * 
+     * @return The shared cache.
+     */
+    public static HolidayDateCache shared() {
+        return SharedHolder.SHARED;
+    }
+
+    /**
+     * Calculates every year of the window that has not been calculated yet, typically at startup.
+     * 
+     * @return this cache.
+     */
+    public HolidayDateCache prewarm() {
+        return prewarm(firstYear, lastYear);
+    }
+
+    /**
+     * Calculates the given years that fall within the window and have not been calculated yet.
+     * 
+     * @param fromYear The first year to calculate.
+     * @param toYear The last year to calculate.
+     * @return this cache.
+     */
+    public HolidayDateCache prewarm(int fromYear, int toYear) {
+        for (int year = Math.max(fromYear, firstYear); year <= Math.min(toYear, lastYear); year++) {
+            datesOf(year);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the start of the given holiday in the given year.
+     * 
+     * @param holiday The holiday.
+     * @param year The year.
+     * @return The holiday as a local TimePoint at midnight.
+     */
+    public TimePoint get(Holiday holiday, int year) {
+        if (year < firstYear || year > lastYear) {
+            return calculate(holiday, year);
+        }
+        return datesOf(year)[holiday.ordinal()];
+    }
+
+    private TimePoint[] datesOf(int year) {
+        int index = year - firstYear;
+        TimePoint[] dates = datesByYear.get(index);
+        if (dates == null) {
+            dates = new TimePoint[HOLIDAYS.length];
+            for (Holiday holiday : HOLIDAYS) {
+                dates[holiday.ordinal()] = calculate(holiday, year);
+            }
+            if (!datesByYear.compareAndSet(index, null, dates)) {
+                dates = datesByYear.get(index);
+            }
+        }
+        return dates;
+    }
+
+    private static TimePoint calculate(Holiday holiday, int year) {
+        return TimePoint.ofEpochDay(holiday.dateIn(year).toEpochDay());
+    }
+
+    private static class SharedHolder {
+        private static final HolidayDateCache SHARED = new HolidayDateCache(1900, 2199);
+    }
+}
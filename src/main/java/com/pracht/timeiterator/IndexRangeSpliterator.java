@@ -0,0 +1,93 @@
+package com.pracht.timeiterator;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * IndexRangeSpliterator covers a range of occurrence indices of a {@link NativeCycle}.
+ * Every point is computed from its index, so a split hands a disjoint half of the range
+ * to another worker that can generate it without seeing the points before it.
+ *
+ * @author bpracht
+ */
+final class IndexRangeSpliterator implements Spliterator<TimePoint> {
+	/** Ranges smaller than this are not worth handing to another worker. */
+	private static final long MINIMUM_SPLIT_SIZE = 1_024;
+
+	private final NativeCycle nativeCycle;
+
+	private final Comparator<TimePoint> order;
+
+	private long fromIndex;
+
+	private final long toIndex;
+
+	/**
+	 * Creates a spliterator over the native points with indices from fromIndex (inclusive)
+	 * to toIndex (exclusive).
+	 *
+	 * @param nativeCycle The closed form cycle to compute points from.
+	 * @param incrementing The direction of the sequence, which decides the reported order.
+	 * @param fromIndex The first index.
+	 * @param toIndex The index after the last.
+	 */
+	IndexRangeSpliterator(NativeCycle nativeCycle, boolean incrementing, long fromIndex, long toIndex) {
+		this(nativeCycle, incrementing ? SequenceHeads::compareAscending
+				: (point1, point2) -> SequenceHeads.compareAscending(point2, point1), fromIndex, toIndex);
+	}
+
+	private IndexRangeSpliterator(NativeCycle nativeCycle, Comparator<TimePoint> order, long fromIndex, long toIndex) {
+		this.nativeCycle = nativeCycle;
+		this.order = order;
+		this.fromIndex = fromIndex;
+		this.toIndex = Math.max(fromIndex, toIndex);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super TimePoint> action) {
+		if (fromIndex >= toIndex) {
+			return false;
+		}
+		action.accept(nativeCycle.pointAt(fromIndex++));
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super TimePoint> action) {
+		long index = fromIndex;
+		fromIndex = toIndex;
+		for (; index < toIndex; index++) {
+			action.accept(nativeCycle.pointAt(index));
+		}
+	}
+
+	@Override
+	public Spliterator<TimePoint> trySplit() {
+		long size = toIndex - fromIndex;
+		if (size < MINIMUM_SPLIT_SIZE) {
+			return null;
+		}
+		long middleIndex = fromIndex + size / 2;
+		Spliterator<TimePoint> prefix = new IndexRangeSpliterator(nativeCycle, order, fromIndex, middleIndex);
+		fromIndex = middleIndex;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return toIndex - fromIndex;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | SIZED | SUBSIZED | SORTED | DISTINCT | IMMUTABLE | NONNULL;
+	}
+
+	@Override
+	public Comparator<? super TimePoint> getComparator() {
+		return order;
+	}
+}
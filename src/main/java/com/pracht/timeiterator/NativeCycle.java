@@ -0,0 +1,336 @@
+package com.pracht.timeiterator;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalUnit;
+import java.util.Objects;
+
+import com.pracht.timeiterator.model.EventRelationship;
+import com.pracht.timeiterator.model.TimePoint;
+import com.pracht.timeiterator.model.ZoneTransitionTable;
+
+/**
+ * NativeCycle computes the native points of a {@link TimePointSequence} in closed form.
+ * The k-th native point is derived directly from the starting point, so seeking to the
+ * first point after a reference costs the same no matter how far away it is.
+ * Calendar cycles (months and longer) are anchored on the starting point as well, so a
+ * sequence starting on the 31st lands on the last day of shorter months without drifting.
+ * <p>
+ * While incrementing, the cycle is the lag between the anchors the event relationship names:
+ * from one start to the next for START_TO_START, from a finish to the next start for
+ * FINISH_TO_START, from one finish to the next for FINISH_TO_FINISH and from a start to the
+ * next finish for START_TO_FINISH. With a fixed event duration each of these is a fixed stride.
+ * <p>
+ * Zoned points are computed with a {@link ZoneTransitionTable} of the zone, so each point costs
+ * a lookup in the transitions instead of a resolution through the zone rules.
+ *
+ * @author bpracht
+ */
+final class NativeCycle {
+	/** About a hundred years of transitions in the direction of iteration, and one the other way. */
+	private static final long TRANSITION_WINDOW_SECONDS = 100L * 366 * 86_400;
+
+	private static final int ADJUSTER_CHECKED_STEPS = 16;
+
+	private final TimePoint startingPoint;
+
+	private final TemporalUnit cycleUnit;
+
+	private final Long cycleCount;
+
+	private final Long eventDuration;
+
+	private final TemporalUnit eventDurationUnit;
+
+	private final EventRelationship eventRelationship;
+
+	private final boolean incrementing;
+
+	private final TemporalAdjuster adjuster;
+
+	private final Duration stride;
+
+	private final long monthsPerStep;
+
+	private ZoneTransitionTable transitions;
+
+	private NativeCycle(TimePointSequence sequence) {
+		this.startingPoint = sequence.getStartingPoint();
+		this.cycleUnit = sequence.getCycleUnit();
+		this.cycleCount = sequence.getCycleCount();
+		this.eventDuration = sequence.getEventDuration();
+		this.eventDurationUnit = sequence.getEventDurationUnit();
+		this.eventRelationship = sequence.getEventRelationship();
+		this.incrementing = sequence.getIncrementing();
+		this.adjuster = sequence.getAdjuster();
+		this.stride = calculateStride();
+		this.monthsPerStep = calculateMonthsPerStep();
+	}
+
+	/**
+	 * Captures the cycle definition of the given sequence.
+	 *
+	 * @param sequence The sequence to capture.
+	 * @return A new NativeCycle.
+	 */
+	static NativeCycle of(TimePointSequence sequence) {
+		return new NativeCycle(sequence);
+	}
+
+	/**
+	 * Checks whether this cycle still describes the given sequence, which may have been
+	 * changed through its setters since this cycle was captured.
+	 *
+	 * @param sequence The sequence to compare against.
+	 * @return true if the cycle definition is unchanged.
+	 */
+	boolean matches(TimePointSequence sequence) {
+		return startingPoint == sequence.getStartingPoint() && cycleUnit == sequence.getCycleUnit()
+				&& Objects.equals(cycleCount, sequence.getCycleCount())
+				&& Objects.equals(eventDuration, sequence.getEventDuration())
+				&& eventDurationUnit == sequence.getEventDurationUnit()
+				&& eventRelationship == sequence.getEventRelationship()
+				&& incrementing == sequence.getIncrementing() && adjuster == sequence.getAdjuster();
+	}
+
+	/**
+	 * Returns true if native points can be computed without stepping through earlier points.
+	 *
+	 * @return true when a closed form is available.
+	 */
+	boolean isClosedForm() {
+		return stride != null || monthsPerStep > 0;
+	}
+
+	/**
+	 * Returns the native point with the given index, where index 0 is the starting point.
+	 * With an adjuster, each point is the cycle point adjusted by the rule.
+	 *
+	 * @param index The zero based occurrence index.
+	 * @return The TimePoint at that index.
+	 */
+	TimePoint pointAt(long index) {
+		TimePoint cyclePoint = cyclePointAt(index);
+		return (adjuster == null) ? cyclePoint : cyclePoint.with(adjuster);
+	}
+
+	/**
+	 * Checks that the adjuster keeps each of the first points within its own cycle period:
+	 * at or after its cycle point and before the cycle point that follows it in time. Points
+	 * that stay in their periods come in cycle order, which the index arithmetic relies on.
+	 *
+	 * @return true if there is no adjuster or the first adjusted points stay in their periods.
+	 */
+	boolean keepsAdjustedPointsInPeriod() {
+		if (adjuster == null) {
+			return true;
+		}
+		for (long index = 0; index < ADJUSTER_CHECKED_STEPS; index++) {
+			TimePoint cyclePoint = cyclePointAt(index);
+			TimePoint periodEnd;
+			if (incrementing) {
+				periodEnd = cyclePointAt(index + 1);
+			} else {
+				periodEnd = (index == 0) ? startingPoint.plus(cycleCount, cycleUnit, transitions()) : cyclePointAt(index - 1);
+			}
+			TimePoint point = cyclePoint.with(adjuster);
+			if (point.isBefore(cyclePoint) || !point.isBefore(periodEnd)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private TimePoint cyclePointAt(long index) {
+		if (index == 0) {
+			return startingPoint;
+		}
+		if (!incrementing) {
+			return startingPoint.minus(Math.multiplyExact(index, cycleCount), cycleUnit, transitions());
+		}
+		ZoneTransitionTable transitions = transitions();
+		switch (eventRelationship) {
+		case FINISH_TO_START:
+			return startingPoint.plus(Math.multiplyExact(index, eventDuration), eventDurationUnit, transitions)
+					.plus(Math.multiplyExact(index, cycleCount), cycleUnit, transitions);
+		case FINISH_TO_FINISH:
+			// Anchored on the first finish, so every finish is a whole number of cycles after it
+			return startingPoint.plus(eventDuration, eventDurationUnit, transitions)
+					.plus(Math.multiplyExact(index, cycleCount), cycleUnit, transitions)
+					.minus(eventDuration, eventDurationUnit, transitions);
+		case START_TO_FINISH:
+			return startingPoint.plus(Math.multiplyExact(index, cycleCount), cycleUnit, transitions)
+					.minus(Math.multiplyExact(index, eventDuration), eventDurationUnit, transitions);
+		default:
+			return startingPoint.plus(Math.multiplyExact(index, cycleCount), cycleUnit, transitions);
+		}
+	}
+
+	/**
+	 * Returns the index of the first native point strictly after the reference point in
+	 * the direction of iteration (after when incrementing, before when decrementing).
+	 *
+	 * @param referencePoint The point to look after.
+	 * @return The zero based index of the first native point past the reference.
+	 */
+	long indexAfter(TimePoint referencePoint) {
+		if (referencePoint == null || passes(pointAt(0), referencePoint)) {
+			return 0;
+		}
+		long index = estimateStepsTo(referencePoint) + 1;
+		// The estimate is exact for local fixed cycles; zoned day arithmetic, clamped month ends
+		// and adjusted points can be a step off
+		while (index > 0 && passes(pointAt(index - 1), referencePoint)) {
+			index--;
+		}
+		while (!passes(pointAt(index), referencePoint)) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the index of the first native point at or past the reference point in the
+	 * direction of iteration.
+	 *
+	 * @param referencePoint The point to look from.
+	 * @return The zero based index of the first native point not before the reference.
+	 */
+	long indexAtOrAfter(TimePoint referencePoint) {
+		long index = indexAfter(referencePoint);
+		if (index > 0 && !passes(referencePoint, pointAt(index - 1))) {
+			index--;
+		}
+		return index;
+	}
+
+	boolean isIncrementing() {
+		return incrementing;
+	}
+
+	/**
+	 * Returns true if consecutive native points are always the same number of nanoseconds
+	 * apart, on the local time line for local points and on the instant time line for zoned ones.
+	 *
+	 * @return true when the native points form an arithmetic progression.
+	 */
+	boolean isUniform() {
+		if (stride == null || adjuster != null) {
+			return false;
+		}
+		if (!startingPoint.isZoned()) {
+			return true;
+		}
+		return cycleUnit.isTimeBased() && (!isDurationLinked() || eventDurationUnit.isTimeBased());
+	}
+
+	/**
+	 * Returns the distance between consecutive native points in nanoseconds.
+	 * Only meaningful when {@link #isUniform()} is true.
+	 *
+	 * @return The stride in nanoseconds.
+	 */
+	BigInteger strideNanos() {
+		return BigInteger.valueOf(stride.getSeconds()).multiply(BigInteger.valueOf(1_000_000_000L))
+				.add(BigInteger.valueOf(stride.getNano()));
+	}
+
+	/**
+	 * Returns the offset transitions of the zone of the starting point, taken once over the
+	 * years the cycle is likely to be iterated through, or null for a local starting point.
+	 * Concurrent first calls may each build a table; they are equal and immutable.
+	 */
+	private ZoneTransitionTable transitions() {
+		ZoneTransitionTable result = transitions;
+		if (result == null && startingPoint.isZoned()) {
+			long start = startingPoint.toEpochSecond();
+			long from = incrementing ? start - TRANSITION_WINDOW_SECONDS / 100 : start - TRANSITION_WINDOW_SECONDS;
+			long to = incrementing ? start + TRANSITION_WINDOW_SECONDS : start + TRANSITION_WINDOW_SECONDS / 100;
+			result = ZoneTransitionTable.of(startingPoint.getZone(), from, to);
+			transitions = result;
+		}
+		return result;
+	}
+
+	private boolean passes(TimePoint point, TimePoint referencePoint) {
+		return incrementing ? point.isAfter(referencePoint) : point.isBefore(referencePoint);
+	}
+
+	private long estimateStepsTo(TimePoint referencePoint) {
+		if (stride != null) {
+			Duration distance = incrementing ? between(startingPoint, referencePoint) : between(referencePoint, startingPoint);
+			return distance.dividedBy(stride);
+		}
+		long months = incrementing
+				? startingPoint.toLocalDateTime().until(referencePoint.toLocalDateTime(), ChronoUnit.MONTHS)
+				: referencePoint.toLocalDateTime().until(startingPoint.toLocalDateTime(), ChronoUnit.MONTHS);
+		return months / monthsPerStep;
+	}
+
+	private Duration between(TimePoint from, TimePoint to) {
+		if (from.isZoned() && to.isZoned()) {
+			return Duration.between(from.toZonedDateTime(), to.toZonedDateTime());
+		}
+		return Duration.between(from.toLocalDateTime(), to.toLocalDateTime());
+	}
+
+	private Duration calculateStride() {
+		if (!isFixedLength(cycleUnit) || cycleCount == null) {
+			return null;
+		}
+		Duration result = cycleUnit.getDuration().multipliedBy(cycleCount);
+		if (isDurationLinked()) {
+			if (!isFixedLength(eventDurationUnit) || eventDuration == null) {
+				return null;
+			}
+			if (startingPoint.isZoned() && cycleUnit.isDateBased() != eventDurationUnit.isDateBased()) {
+				// Zoned day steps follow local time while time steps follow the instant, so they do not commute
+				return null;
+			}
+			Duration duration = eventDurationUnit.getDuration().multipliedBy(eventDuration);
+			if (eventRelationship == EventRelationship.FINISH_TO_START) {
+				result = result.plus(duration);
+			} else if (eventRelationship == EventRelationship.START_TO_FINISH) {
+				result = result.minus(duration);
+			}
+		}
+		return (result.isNegative() || result.isZero()) ? null : result;
+	}
+
+	private long calculateMonthsPerStep() {
+		if (stride != null || cycleCount == null || cycleCount <= 0 || !(cycleUnit instanceof ChronoUnit)) {
+			return 0;
+		}
+		if (isDurationLinked() && eventRelationship != EventRelationship.FINISH_TO_FINISH) {
+			return 0;
+		}
+		switch ((ChronoUnit) cycleUnit) {
+		case MONTHS:
+			return cycleCount;
+		case YEARS:
+			return Math.multiplyExact(cycleCount, 12L);
+		case DECADES:
+			return Math.multiplyExact(cycleCount, 120L);
+		case CENTURIES:
+			return Math.multiplyExact(cycleCount, 1_200L);
+		case MILLENNIA:
+			return Math.multiplyExact(cycleCount, 12_000L);
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns true if the event duration moves the native points, which it does for every
+	 * relationship but START_TO_START while incrementing.
+	 */
+	private boolean isDurationLinked() {
+		return incrementing && eventRelationship != null && eventRelationship != EventRelationship.START_TO_START;
+	}
+
+	private static boolean isFixedLength(TemporalUnit unit) {
+		return unit instanceof ChronoUnit && ((ChronoUnit) unit).compareTo(ChronoUnit.WEEKS) <= 0;
+	}
+}
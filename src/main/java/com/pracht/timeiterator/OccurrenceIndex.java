@@ -0,0 +1,162 @@
+package com.pracht.timeiterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * OccurrenceIndex is a skip index over the points of a {@link TimePointSequence} whose points
+ * cannot be computed from their index, because it has child sequences or a cycle without a
+ * closed form. Every {@value #CHECKPOINT_INTERVAL}th point a copy of the sequence is kept,
+ * positioned just before that point, so looking up an occurrence steps through at most one
+ * interval once the checkpoints up to it exist. Checkpoints are added on demand.
+ * <p>
+ * The index works on a copy of the sequence tree taken from the beginning, so it neither sees
+ * nor disturbs the position of the sequence it was created for.
+ *
+ * @author bpracht
+ */
+final class OccurrenceIndex {
+	/** The number of points between two checkpoints. */
+	static final int CHECKPOINT_INTERVAL = 1_024;
+
+	private final TimePointSequence sequence;
+
+	private final NativeCycle nativeCycle;
+
+	private final TimePoint endingPoint;
+
+	private final Long maximumPointCount;
+
+	private final int includedCount;
+
+	private final int excludedCount;
+
+	/** checkpoints.get(i) has returned i * CHECKPOINT_INTERVAL points. */
+	private final List<TimePointSequence> checkpoints = new ArrayList<>();
+
+	/** The point with index i * CHECKPOINT_INTERVAL. */
+	private final List<TimePoint> checkpointPoints = new ArrayList<>();
+
+	private final TimePointSequence frontier;
+
+	private long frontierIndex;
+
+	private boolean exhausted;
+
+	private OccurrenceIndex(TimePointSequence sequence, NativeCycle nativeCycle) {
+		this.sequence = sequence;
+		this.nativeCycle = nativeCycle;
+		this.endingPoint = sequence.getEndingPoint();
+		this.maximumPointCount = sequence.getMaximumPointCount();
+		this.includedCount = sequence.getIncludedChildSequences().size();
+		this.excludedCount = sequence.getExcludedChildSequences().size();
+		this.frontier = sequence.restartedCopy();
+	}
+
+	/**
+	 * Creates an empty index for the sequence.
+	 *
+	 * @param sequence The sequence to index.
+	 * @param nativeCycle The current cycle of the sequence.
+	 * @return A new OccurrenceIndex.
+	 */
+	static OccurrenceIndex of(TimePointSequence sequence, NativeCycle nativeCycle) {
+		return new OccurrenceIndex(sequence, nativeCycle);
+	}
+
+	/**
+	 * Checks whether this index still describes the sequence, which may have been changed
+	 * through its setters since this index was created.
+	 *
+	 * @param nativeCycle The current cycle of the sequence.
+	 * @return true if the index can still be used.
+	 */
+	boolean matches(NativeCycle nativeCycle) {
+		return this.nativeCycle == nativeCycle && endingPoint == sequence.getEndingPoint()
+				&& Objects.equals(maximumPointCount, sequence.getMaximumPointCount())
+				&& includedCount == sequence.getIncludedChildSequences().size()
+				&& excludedCount == sequence.getExcludedChildSequences().size();
+	}
+
+	/**
+	 * Returns the point with the given index, counted from the beginning of the sequence.
+	 *
+	 * @param index The zero based occurrence index.
+	 * @return The point, or null if the sequence has fewer points.
+	 */
+	TimePoint occurrence(long index) {
+		long checkpoint = index / CHECKPOINT_INTERVAL;
+		extendTo(checkpoint);
+		if (checkpoint >= checkpoints.size()) {
+			return null;
+		}
+		TimePointSequence walker = checkpoints.get((int) checkpoint).copy();
+		for (long step = index % CHECKPOINT_INTERVAL; step > 0 && walker.hasNext(); step--) {
+			walker.next();
+		}
+		return walker.peekNext();
+	}
+
+	/**
+	 * Returns the index of the point, counted from the beginning of the sequence.
+	 *
+	 * @param point The point to look for.
+	 * @return The zero based occurrence index, or -1 if the point is not in the sequence.
+	 */
+	long indexOf(TimePoint point) {
+		while (!exhausted && (checkpointPoints.isEmpty() || !passes(checkpointPoints.get(checkpointPoints.size() - 1), point))) {
+			extendTo(checkpoints.size());
+		}
+		// The last checkpoint whose point is not past the one looked for
+		int low = 0;
+		int high = checkpointPoints.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (passes(checkpointPoints.get(middle), point)) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		if (low == 0) {
+			return -1;
+		}
+		TimePointSequence walker = checkpoints.get(low - 1).copy();
+		long index = (long) (low - 1) * CHECKPOINT_INTERVAL;
+		for (TimePoint candidate = walker.peekNext(); candidate != null && !passes(candidate, point); candidate = walker.peekNext()) {
+			if (candidate.equals(point)) {
+				return index;
+			}
+			walker.next();
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Adds checkpoints until the one with the given number exists or the sequence runs out.
+	 */
+	private void extendTo(long checkpoint) {
+		while (!exhausted && checkpoints.size() <= checkpoint) {
+			long checkpointIndex = (long) checkpoints.size() * CHECKPOINT_INTERVAL;
+			while (frontierIndex < checkpointIndex && frontier.hasNext()) {
+				frontier.next();
+				frontierIndex++;
+			}
+			TimePoint checkpointPoint = (frontierIndex == checkpointIndex) ? frontier.peekNext() : null;
+			if (checkpointPoint == null) {
+				exhausted = true;
+				return;
+			}
+			checkpoints.add(frontier.copy());
+			checkpointPoints.add(checkpointPoint);
+		}
+	}
+
+	private boolean passes(TimePoint point, TimePoint referencePoint) {
+		return sequence.getIncrementing() ? point.isAfter(referencePoint) : point.isBefore(referencePoint);
+	}
+}
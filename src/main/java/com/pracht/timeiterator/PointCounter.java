@@ -0,0 +1,302 @@
+package com.pracht.timeiterator;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * PointCounter counts the points a {@link TimePointSequence} has left without producing them.
+ * <p>
+ * Every native cycle in the sequence tree is an atom: the set of its native points within
+ * an index range. The points of a sequence are its own atom united with its included
+ * children, minus its excluded children. Written as indicator functions, a union is
+ * {@code a + b - ab} and a difference is {@code a - ab}, so the whole tree expands into a
+ * signed sum of atom intersections. Each monomial is kept as a bitmask of atoms.
+ * <p>
+ * A single atom is counted from its index range. Atoms whose points are evenly spaced are
+ * intersected arithmetically, by solving their congruences with the Chinese remainder
+ * theorem. Other intersections walk the smallest atom and test its points against the rest.
+ *
+ * @author bpracht
+ */
+final class PointCounter {
+	/** Trees with more cycles than this are not expanded. */
+	private static final int MAXIMUM_ATOMS = 24;
+
+	/** Expansions with more terms than this are given up on. */
+	private static final int MAXIMUM_TERMS = 4_096;
+
+	private static final BigInteger NANOS_PER_SECOND = BigInteger.valueOf(1_000_000_000L);
+
+	private final boolean incrementing;
+
+	private final List<Atom> atoms = new ArrayList<>();
+
+	private Map<Long, Long> polynomial;
+
+	private PointCounter(boolean incrementing) {
+		this.incrementing = incrementing;
+	}
+
+	/**
+	 * Expands the sequence into atoms. Returns null when the sequence cannot be counted
+	 * arithmetically: a cycle without a closed form, children running the other way, a child
+	 * with its own children and a maximumPointCount, points in different zones, or a tree too
+	 * large to expand.
+	 *
+	 * @param sequence The sequence to count; its current point is the reference.
+	 * @return A PointCounter, or null.
+	 */
+	static PointCounter of(TimePointSequence sequence) {
+		PointCounter counter = new PointCounter(sequence.getIncrementing());
+		counter.polynomial = counter.expand(sequence, sequence.getCurrentPoint(), true);
+		if (counter.polynomial == null || !counter.isSingleZone()) {
+			return null;
+		}
+		return counter;
+	}
+
+	/**
+	 * Counts the points past the reference and before the limit in the direction of iteration.
+	 * The maximumPointCount of the counted sequence itself is not applied.
+	 *
+	 * @param limit The point to count up to.
+	 * @param inclusive true to also count a point on the limit.
+	 * @return The number of points.
+	 */
+	long countBefore(TimePoint limit, boolean inclusive) {
+		for (Atom atom : atoms) {
+			long limitIndex = inclusive ? atom.nativeCycle.indexAfter(limit) : atom.nativeCycle.indexAtOrAfter(limit);
+			atom.limitedToIndex = Math.min(atom.toIndex, limitIndex);
+		}
+		long count = 0;
+		for (Map.Entry<Long, Long> term : polynomial.entrySet()) {
+			count = Math.addExact(count, Math.multiplyExact(term.getValue(), countIntersection(term.getKey())));
+		}
+		return count;
+	}
+
+	private Map<Long, Long> expand(TimePointSequence sequence, TimePoint referencePoint, boolean top) {
+		if (sequence.getIncrementing() != incrementing) {
+			return null;
+		}
+		Long maximumPointCount = sequence.getMaximumPointCount();
+		long pointCount = (sequence.getCurrentPointCount() == null) ? 0 : sequence.getCurrentPointCount();
+		if (maximumPointCount != null && pointCount >= maximumPointCount) {
+			return new HashMap<>();
+		}
+		boolean hasChildren = !sequence.getIncludedChildSequences().isEmpty()
+				|| !sequence.getExcludedChildSequences().isEmpty();
+		if (!top && hasChildren && maximumPointCount != null) {
+			// Only the first points of the whole child would count, which is not a union of atoms
+			return null;
+		}
+		NativeCycle nativeCycle = NativeCycle.of(sequence);
+		if (!nativeCycle.isClosedForm() || atoms.size() == MAXIMUM_ATOMS) {
+			return null;
+		}
+		long fromIndex = nativeCycle.indexAfter(referencePoint);
+		long toIndex = Long.MAX_VALUE;
+		if (sequence.getEndingPoint() != null) {
+			toIndex = nativeCycle.indexAfter(sequence.getEndingPoint());
+		}
+		if (!top && maximumPointCount != null) {
+			toIndex = Math.min(toIndex, fromIndex + Math.min(maximumPointCount - pointCount, Long.MAX_VALUE - fromIndex));
+		}
+		atoms.add(new Atom(nativeCycle, fromIndex, toIndex));
+		Map<Long, Long> result = new HashMap<>();
+		result.put(1L << (atoms.size() - 1), 1L);
+		for (TimePointSequence child : sequence.getIncludedChildSequences()) {
+			Map<Long, Long> included = expand(child, referencePoint, false);
+			if (included == null) {
+				return null;
+			}
+			// a or b = a + b - ab
+			Map<Long, Long> overlap = multiply(result, included);
+			if (overlap == null) {
+				return null;
+			}
+			add(result, included, 1);
+			add(result, overlap, -1);
+		}
+		for (TimePointSequence child : sequence.getExcludedChildSequences()) {
+			Map<Long, Long> excluded = expand(child, referencePoint, false);
+			if (excluded == null) {
+				return null;
+			}
+			// a and not b = a - ab
+			Map<Long, Long> overlap = multiply(result, excluded);
+			if (overlap == null) {
+				return null;
+			}
+			add(result, overlap, -1);
+		}
+		return (result.size() > MAXIMUM_TERMS) ? null : result;
+	}
+
+	private static Map<Long, Long> multiply(Map<Long, Long> left, Map<Long, Long> right) {
+		if ((long) left.size() * right.size() > MAXIMUM_TERMS * 16L) {
+			return null;
+		}
+		Map<Long, Long> product = new HashMap<>();
+		for (Map.Entry<Long, Long> leftTerm : left.entrySet()) {
+			for (Map.Entry<Long, Long> rightTerm : right.entrySet()) {
+				// Atoms are sets, so a monomial is just the set of atoms it intersects
+				product.merge(leftTerm.getKey() | rightTerm.getKey(),
+						Math.multiplyExact(leftTerm.getValue(), rightTerm.getValue()), Math::addExact);
+			}
+		}
+		product.values().removeIf(coefficient -> coefficient == 0);
+		return product;
+	}
+
+	private static void add(Map<Long, Long> target, Map<Long, Long> terms, long sign) {
+		for (Map.Entry<Long, Long> term : terms.entrySet()) {
+			target.merge(term.getKey(), sign * term.getValue(), Math::addExact);
+		}
+		target.values().removeIf(coefficient -> coefficient == 0);
+	}
+
+	private boolean isSingleZone() {
+		for (Atom atom : atoms) {
+			if (!Objects.equals(atom.firstPoint.getZone(), atoms.get(0).firstPoint.getZone())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private long countIntersection(long monomial) {
+		List<Atom> intersected = new ArrayList<>(Long.bitCount(monomial));
+		boolean uniform = true;
+		for (long bits = monomial; bits != 0; bits &= bits - 1) {
+			Atom atom = atoms.get(Long.numberOfTrailingZeros(bits));
+			if (atom.size() == 0) {
+				return 0;
+			}
+			intersected.add(atom);
+			uniform &= atom.nativeCycle.isUniform();
+		}
+		if (intersected.size() == 1) {
+			return intersected.get(0).size();
+		}
+		return uniform ? countUniformIntersection(intersected) : countByWalking(intersected);
+	}
+
+	/**
+	 * Every uniform atom is {@code x = first + k * stride} for k in its index range, i.e. a
+	 * congruence {@code x = first (mod stride)} bounded by its lowest and highest point.
+	 */
+	private static long countUniformIntersection(List<Atom> intersected) {
+		BigInteger residue = BigInteger.ZERO;
+		BigInteger modulus = BigInteger.ONE;
+		BigInteger lowest = null;
+		BigInteger highest = null;
+		for (Atom atom : intersected) {
+			BigInteger stride = atom.nativeCycle.strideNanos();
+			BigInteger first = nanos(atom.firstPoint);
+			BigInteger fromValue = valueAt(atom, first, stride, atom.fromIndex);
+			BigInteger lastValue = valueAt(atom, first, stride, atom.limitedToIndex - 1);
+			BigInteger atomLowest = fromValue.min(lastValue);
+			BigInteger atomHighest = fromValue.max(lastValue);
+			lowest = (lowest == null) ? atomLowest : lowest.max(atomLowest);
+			highest = (highest == null) ? atomHighest : highest.min(atomHighest);
+			// Combine x = residue (mod modulus) with x = first (mod stride)
+			BigInteger gcd = modulus.gcd(stride);
+			BigInteger difference = first.subtract(residue);
+			if (difference.mod(gcd).signum() != 0) {
+				return 0;
+			}
+			BigInteger strideOverGcd = stride.divide(gcd);
+			BigInteger step = difference.divide(gcd).multiply(modulus.divide(gcd).modInverse(strideOverGcd)).mod(strideOverGcd);
+			residue = residue.add(modulus.multiply(step));
+			modulus = modulus.multiply(strideOverGcd);
+			residue = residue.mod(modulus);
+		}
+		if (lowest.compareTo(highest) > 0) {
+			return 0;
+		}
+		BigInteger count = floorDiv(highest.subtract(residue), modulus)
+				.subtract(floorDiv(lowest.subtract(BigInteger.ONE).subtract(residue), modulus));
+		return count.longValueExact();
+	}
+
+	private static BigInteger valueAt(Atom atom, BigInteger first, BigInteger stride, long index) {
+		BigInteger offset = stride.multiply(BigInteger.valueOf(index));
+		return atom.nativeCycle.isIncrementing() ? first.add(offset) : first.subtract(offset);
+	}
+
+	private static BigInteger floorDiv(BigInteger dividend, BigInteger divisor) {
+		BigInteger[] quotientAndRemainder = dividend.divideAndRemainder(divisor);
+		return (quotientAndRemainder[1].signum() < 0) ? quotientAndRemainder[0].subtract(BigInteger.ONE)
+				: quotientAndRemainder[0];
+	}
+
+	private static BigInteger nanos(TimePoint timePoint) {
+		return BigInteger.valueOf(timePoint.toEpochSecond()).multiply(NANOS_PER_SECOND)
+				.add(BigInteger.valueOf(timePoint.getNano()));
+	}
+
+	/**
+	 * Walks the atom with the fewest points in range and checks each against the others.
+	 */
+	private long countByWalking(List<Atom> intersected) {
+		Atom smallest = intersected.get(0);
+		for (Atom atom : intersected) {
+			smallest = (atom.size() < smallest.size()) ? atom : smallest;
+		}
+		long count = 0;
+		for (long index = smallest.fromIndex; index < smallest.limitedToIndex; index++) {
+			TimePoint point = smallest.nativeCycle.pointAt(index);
+			boolean common = true;
+			for (Atom atom : intersected) {
+				if (atom != smallest && !contains(atom, point)) {
+					common = false;
+					break;
+				}
+			}
+			count += common ? 1 : 0;
+		}
+		return count;
+	}
+
+	private boolean contains(Atom atom, TimePoint point) {
+		long index = atom.nativeCycle.indexAtOrAfter(point);
+		if (index < atom.fromIndex || index >= atom.limitedToIndex) {
+			return false;
+		}
+		TimePoint nativePoint = atom.nativeCycle.pointAt(index);
+		return !nativePoint.isAfter(point) && !nativePoint.isBefore(point);
+	}
+
+	/**
+	 * The native points of one cycle with indices from fromIndex (inclusive) to toIndex (exclusive).
+	 */
+	private static class Atom {
+		private final NativeCycle nativeCycle;
+
+		private final TimePoint firstPoint;
+
+		private final long fromIndex;
+
+		private final long toIndex;
+
+		private long limitedToIndex;
+
+		private Atom(NativeCycle nativeCycle, long fromIndex, long toIndex) {
+			this.nativeCycle = nativeCycle;
+			this.firstPoint = nativeCycle.pointAt(0);
+			this.fromIndex = fromIndex;
+			this.toIndex = toIndex;
+		}
+
+		private long size() {
+			return Math.max(0, limitedToIndex - fromIndex);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.pracht.timeiterator;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * SequenceHeads is a heap of {@link TimePointSequence}s ordered by the next point each
+ * one will contribute (its head). The soonest head in the direction of iteration is on
+ * top; ties go to the sequence with the lowest position, i.e. the one added first.
+ *
+ * @author bpracht
+ */
+final class SequenceHeads {
+	/** Shared heap for sequences without children; nothing is ever offered to it. */
+	static final SequenceHeads NONE = new SequenceHeads(true, 1);
+
+	private final PriorityQueue<Entry> queue;
+
+	/**
+	 * Creates an empty heap.
+	 *
+	 * @param incrementing true to put the earliest head on top, false for the latest.
+	 * @param expectedSize The number of sequences expected.
+	 */
+	SequenceHeads(boolean incrementing, int expectedSize) {
+		Comparator<TimePoint> order = incrementing ? SequenceHeads::compareAscending
+				: (point1, point2) -> compareAscending(point2, point1);
+		this.queue = new PriorityQueue<>(Math.max(1, expectedSize),
+				Comparator.comparing((Entry entry) -> entry.head, order).thenComparingInt(entry -> entry.position));
+	}
+
+	/**
+	 * Adds a sequence with its head. Sequences without a head are ignored.
+	 *
+	 * @param sequence The sequence.
+	 * @param position The tie breaking position of the sequence.
+	 * @param head The next point of the sequence, or null.
+	 */
+	void offer(TimePointSequence sequence, int position, TimePoint head) {
+		if (head != null) {
+			queue.offer(new Entry(sequence, position, head));
+		}
+	}
+
+	boolean isEmpty() {
+		return queue.isEmpty();
+	}
+
+	/**
+	 * Returns the soonest head, or null if no sequence has one.
+	 *
+	 * @return The top head.
+	 */
+	TimePoint peekHead() {
+		Entry top = queue.peek();
+		return (top == null) ? null : top.head;
+	}
+
+	/**
+	 * Returns the sequence owning the soonest head, or null if the heap is empty.
+	 *
+	 * @return The top sequence.
+	 */
+	TimePointSequence peekSequence() {
+		Entry top = queue.peek();
+		return (top == null) ? null : top.sequence;
+	}
+
+	/**
+	 * Returns the position the top sequence was offered with, or -1 if the heap is empty.
+	 *
+	 * @return The top position.
+	 */
+	int peekPosition() {
+		Entry top = queue.peek();
+		return (top == null) ? -1 : top.position;
+	}
+
+	/**
+	 * Replaces the head of the top sequence and restores the heap order. A null head
+	 * removes the sequence from the heap.
+	 *
+	 * @param head The new head of the top sequence.
+	 */
+	void rekeyTop(TimePoint head) {
+		Entry top = queue.poll();
+		if (head != null) {
+			top.head = head;
+			queue.offer(top);
+		}
+	}
+
+	static int compareAscending(TimePoint point1, TimePoint point2) {
+		if (point1.isBefore(point2)) {
+			return -1;
+		}
+		return point1.isAfter(point2) ? 1 : 0;
+	}
+
+	private static class Entry {
+		private final TimePointSequence sequence;
+
+		private final int position;
+
+		private TimePoint head;
+
+		private Entry(TimePointSequence sequence, int position, TimePoint head) {
+			this.sequence = sequence;
+			this.position = position;
+			this.head = head;
+		}
+	}
+}
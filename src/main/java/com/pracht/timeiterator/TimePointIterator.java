@@ -13,19 +13,26 @@ import java.util.Objects;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import com.pracht.timeiterator.model.EpochUnit;
 import com.pracht.timeiterator.model.TimePoint;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 
 /**
  * TimePointIterator provides a way to iterate through multiple {@link TimePointSequence}s
  * in a unified chronological stream. It ensures that points from all sequences are
  * returned in order (ascending or descending) and handles limit constraints.
+ * The sequences are merged through a heap keyed on each sequence's next point, so
+ * emitting a point costs O(log k) for k sequences.
  */
 @Data
 @AllArgsConstructor
@@ -48,45 +55,42 @@ public class TimePointIterator implements Iterator<TimePoint> {
 
 	private Boolean incrementing;
 
+	@Getter(AccessLevel.NONE)
+	private final MergeHeap mergeHeap = new MergeHeap();
+
 	/**
 	 * Identifies the sequence that contains the next chronological point.
+	 * When several sequences share the soonest point, the one added first wins.
 	 * 
 	 * @return The TimePointSequence containing the next point, or null if none remain.
 	 */
 	public TimePointSequence findNextSequence() {
-		Iterator<TimePointSequence> sequenceIterators = sequences.iterator();
-		TimePointSequence nextSequence = null;
-		TimePoint nextPoint = startingPoint;
-		TimePointSequence currentSequence = null;
-		TimePoint currentPointValue = startingPoint;
-		if (getIncrementing()) {
-			if (sequenceIterators.hasNext()) {
-				nextSequence = sequenceIterators.next();
-				nextPoint = nextSequence.peekNext();
-				while (sequenceIterators.hasNext()) {
-					currentSequence = sequenceIterators.next();
-					currentPointValue = currentSequence.peekNext();
-					if (currentPointValue != null && (nextPoint == null || currentPointValue.isBefore(nextPoint))) {
-						nextPoint = currentPointValue;
-						nextSequence = currentSequence;
-					}
-				}
+		SequenceHeads heads = mergeHeap();
+		while (!heads.isEmpty()) {
+			TimePoint head = heads.peekSequence().peekNext();
+			if (Objects.equals(head, heads.peekHead())) {
+				return heads.peekSequence();
 			}
-		} else {
-			if (sequenceIterators.hasNext()) {
-				nextSequence = sequenceIterators.next();
-				nextPoint = nextSequence.peekNext();
-				while (sequenceIterators.hasNext()) {
-					currentSequence = sequenceIterators.next();
-					currentPointValue = currentSequence.peekNext();
-					if (currentPointValue != null && (nextPoint == null || currentPointValue.isAfter(nextPoint))) {
-						nextPoint = currentPointValue;
-						nextSequence = currentSequence;
-					}
-				}
+			// The sequence was advanced outside of this iterator, so re-key it
+			heads.rekeyTop(head);
+		}
+		return null;
+	}
+
+	private SequenceHeads mergeHeap() {
+		MergeHeap heap = mergeHeap;
+		if (heap.heads == null || heap.sequences != sequences || heap.sequenceCount != sequences.size()
+				|| heap.incrementing != getIncrementing()) {
+			heap.sequences = sequences;
+			heap.sequenceCount = sequences.size();
+			heap.incrementing = getIncrementing();
+			heap.heads = new SequenceHeads(heap.incrementing, heap.sequenceCount);
+			int position = 0;
+			for (TimePointSequence sequence : sequences) {
+				heap.heads.offer(sequence, position++, sequence.peekNext());
 			}
 		}
-		return nextSequence;
+		return heap.heads;
 	}
 
 	/**
@@ -105,6 +109,16 @@ public class TimePointIterator implements Iterator<TimePoint> {
 		return resultPoint;
 	}
 
+	/**
+	 * Returns an immutable definition of this iterator that can be shared between threads,
+	 * each iterating through its own {@link TimePointIteratorDefinition#cursor()}.
+	 * 
+	 * @return A new TimePointIteratorDefinition.
+	 */
+	public TimePointIteratorDefinition toDefinition() {
+		return TimePointIteratorDefinition.of(this);
+	}
+
 	@Override
 	public boolean equals(final Object otherObject) {
 		if (otherObject == this)
@@ -247,12 +261,68 @@ public class TimePointIterator implements Iterator<TimePoint> {
 			}
 			currentPoint = nextSequence.next();
 			currentPointCount = (currentPointCount == null) ? 1 : currentPointCount + 1;
+			rekeyTop();
 		} else {
 			throw new NoSuchElementException();
 		}
 		return currentPoint;
 	}
 
+	private void rekeyTop() {
+		SequenceHeads heads = mergeHeap();
+		heads.rekeyTop(heads.peekSequence().peekNext());
+	}
+
+	/**
+	 * Counts the points this iterator has left to return that come before the end point in
+	 * the direction of iteration. The counts of the sequences are summed, each computed
+	 * arithmetically where possible (see {@link TimePointSequence#countUntil}), and limited
+	 * by the endingPoint and maximumPointCount of the iterator. Nothing is advanced.
+	 *
+	 * @param endPoint The point to count up to, exclusive.
+	 * @return The number of points before endPoint.
+	 */
+	public long countUntil(TimePoint endPoint) {
+		return countBefore(endPoint, false);
+	}
+
+	/**
+	 * Counts the points this iterator has left to return that fall in the time range from
+	 * startPoint (inclusive) to endPoint (exclusive), whichever the direction of iteration.
+	 *
+	 * @param startPoint The start of the range, inclusive.
+	 * @param endPoint The end of the range, exclusive.
+	 * @return The number of points in the range.
+	 */
+	public long countBetween(TimePoint startPoint, TimePoint endPoint) {
+		if (!startPoint.isBefore(endPoint)) {
+			return 0;
+		}
+		if (getIncrementing()) {
+			return countBefore(endPoint, false) - countBefore(startPoint, false);
+		}
+		return countBefore(startPoint, true) - countBefore(endPoint, true);
+	}
+
+	private long countBefore(TimePoint limit, boolean inclusive) {
+		if (peekNext() == null) {
+			return 0;
+		}
+		// Decrementing, the ending point only stops an iterator whose next point is already after it
+		if (endingPoint != null && getIncrementing() && limit.isAfter(endingPoint)) {
+			// Nothing after the ending point is returned, but a point on it is
+			limit = endingPoint;
+			inclusive = true;
+		}
+		long count = 0;
+		for (TimePointSequence sequence : sequences) {
+			count = Math.addExact(count, sequence.countBefore(limit, inclusive));
+		}
+		long remainingCount = (maximumPointCount == null) ? Long.MAX_VALUE
+				: maximumPointCount - ((currentPointCount == null) ? 0 : currentPointCount);
+		return Math.min(remainingCount, count);
+	}
+
 	/**
 	 * Returns a sequential Stream of TimePoints from this iterator.
 	 * 
@@ -264,6 +334,88 @@ public class TimePointIterator implements Iterator<TimePoint> {
 		return resultStream;
 	}
 
+	/**
+	 * Returns a sequential LongStream of the epoch values of the points from this iterator.
+	 * Like {@link #stream()}, the iterator is advanced as the stream is consumed.
+	 * 
+	 * @param unit The epoch unit to emit.
+	 * @return A LongStream of epoch values.
+	 */
+	public LongStream epochStream(EpochUnit unit) {
+		return TimePointStreams.epochStream(this, unit);
+	}
+
+	/**
+	 * Advances the iterator by up to length points and writes their epoch values into the
+	 * array, starting at offset. The result is the same as calling {@link #next()} for each
+	 * point, but the bounds and the maximumPointCount are checked once per batch.
+	 *
+	 * @param epochValues The array to fill.
+	 * @param offset The first array position to write.
+	 * @param length The maximum number of points to write.
+	 * @param unit The epoch unit to write.
+	 * @return The number of points written; less than length only when the iterator has ended.
+	 * @throws IndexOutOfBoundsException if the range does not fit in the array.
+	 */
+	public int nextBatch(long[] epochValues, int offset, int length, EpochUnit unit) {
+		return nextBatch(epochValues, null, offset, length, unit);
+	}
+
+	/**
+	 * Like {@link #nextBatch(long[], int, int, EpochUnit)}, and also writes the position in
+	 * {@link #getSequences()} of the sequence each point came from into the parallel array.
+	 *
+	 * @param epochValues The array to fill with epoch values.
+	 * @param sequenceIndices The array to fill with sequence positions, or null.
+	 * @param offset The first array position to write.
+	 * @param length The maximum number of points to write.
+	 * @param unit The epoch unit to write.
+	 * @return The number of points written; less than length only when the iterator has ended.
+	 * @throws IndexOutOfBoundsException if the range does not fit in either array.
+	 */
+	public int nextBatch(long[] epochValues, int[] sequenceIndices, int offset, int length, EpochUnit unit) {
+		Objects.checkFromIndexSize(offset, length, epochValues.length);
+		if (sequenceIndices != null) {
+			Objects.checkFromIndexSize(offset, length, sequenceIndices.length);
+		}
+		long pointCount = (currentPointCount == null) ? 0 : currentPointCount;
+		int limit = length;
+		if (maximumPointCount != null) {
+			limit = (int) Math.max(0, Math.min(limit, maximumPointCount - pointCount));
+		}
+		SequenceHeads heads = mergeHeap();
+		int filled = 0;
+		for (; filled < limit; filled++) {
+			TimePointSequence nextSequence = findNextSequence();
+			if (nextSequence == null) {
+				break;
+			}
+			TimePoint point = heads.peekHead();
+			if (endingPoint != null && (getIncrementing() ? point.isAfter(endingPoint) : endingPoint.isBefore(point))) {
+				break;
+			}
+			if (sequenceIndices != null) {
+				sequenceIndices[offset + filled] = heads.peekPosition();
+			}
+			currentPoint = nextSequence.next();
+			heads.rekeyTop(nextSequence.peekNext());
+			epochValues[offset + filled] = unit.of(currentPoint);
+		}
+		if (filled > 0) {
+			currentPointCount = pointCount + filled;
+		}
+		return filled;
+	}
+
+	/**
+	 * Returns a sequential IntStream of the epoch days of the points from this iterator.
+	 * 
+	 * @return An IntStream of epoch days.
+	 */
+	public IntStream epochDayStream() {
+		return TimePointStreams.epochDayStream(this);
+	}
+
 	/**
 	 * Returns a string representation of all points in the iterator.
 	 * @return A formatted string of points.
@@ -289,6 +441,20 @@ public class TimePointIterator implements Iterator<TimePoint> {
 				.collect(Collectors.joining(", ", "[", "]"));
 	}
 
+	/**
+	 * Heap of the monitored sequences ordered by their next point, rebuilt when the
+	 * sequence list or the direction is changed through the setters.
+	 */
+	private static class MergeHeap {
+		private List<TimePointSequence> sequences;
+
+		private int sequenceCount;
+
+		private boolean incrementing;
+
+		private SequenceHeads heads;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("TimePointIterator[start=%s, direction=%s, max=%s]",
@@ -0,0 +1,70 @@
+package com.pracht.timeiterator;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * TimePointIteratorDefinition is the configuration of a {@link TimePointIterator} without its
+ * iteration state, holding an immutable {@link TimePointSequenceDefinition} per merged sequence.
+ * It can be shared by any number of threads, each iterating through its own {@link #cursor()}.
+ *
+ * @author bpracht
+ */
+@Getter
+@EqualsAndHashCode
+public final class TimePointIteratorDefinition {
+	private final List<TimePointSequenceDefinition> sequenceDefinitions;
+
+	private final TimePoint startingPoint;
+
+	private final Long maximumPointCount;
+
+	private final TimePoint endingPoint;
+
+	private final DateTimeFormatter dateTimeFormatter;
+
+	private final Boolean incrementing;
+
+	private TimePointIteratorDefinition(TimePointIterator iterator) {
+		List<TimePointSequenceDefinition> definitions = new ArrayList<>(iterator.getSequences().size());
+		iterator.getSequences().forEach(sequence -> definitions.add(TimePointSequenceDefinition.of(sequence)));
+		this.sequenceDefinitions = Collections.unmodifiableList(definitions);
+		this.startingPoint = iterator.getStartingPoint();
+		this.maximumPointCount = iterator.getMaximumPointCount();
+		this.endingPoint = iterator.getEndingPoint();
+		this.dateTimeFormatter = iterator.getDateTimeFormatter();
+		this.incrementing = iterator.getIncrementing();
+	}
+
+	/**
+	 * Captures the configuration of the given iterator and the rules of its sequences. Their
+	 * current points are ignored and later changes to them do not affect the definition.
+	 *
+	 * @param iterator The iterator to capture.
+	 * @return A new TimePointIteratorDefinition.
+	 */
+	public static TimePointIteratorDefinition of(TimePointIterator iterator) {
+		return new TimePointIteratorDefinition(iterator);
+	}
+
+	/**
+	 * Creates an iterator over the merged points of this definition, starting from the
+	 * beginning of every sequence. The iterator belongs to the caller and is not thread-safe itself.
+	 *
+	 * @return A new TimePointIterator.
+	 */
+	public TimePointIterator cursor() {
+		List<TimePointSequence> sequences = new LinkedList<>();
+		sequenceDefinitions.forEach(definition -> sequences.add(definition.cursor()));
+		return new TimePointIterator(sequences, startingPoint, null, maximumPointCount, endingPoint, null,
+				dateTimeFormatter, incrementing);
+	}
+}
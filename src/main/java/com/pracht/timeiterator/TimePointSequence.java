@@ -1,8 +1,10 @@
 package com.pracht.timeiterator;
 
+import java.time.DateTimeException;
 import java.time.DayOfWeek;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalUnit;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -12,17 +14,22 @@ import java.util.Objects;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import com.pracht.timeiterator.model.EpochUnit;
 import com.pracht.timeiterator.model.EventRelationship;
 import com.pracht.timeiterator.model.TimePoint;
 import static com.pracht.timeiterator.model.EventRelationship.*;
 
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 
 /**
  * TimePointSequence models a series of points in time based on a starting point,
@@ -62,7 +69,24 @@ public class TimePointSequence implements Iterator<TimePoint> {
 	private List<TimePointSequence> includedChildSequences = new LinkedList<>();
 
 	private List<TimePointSequence> excludedChildSequences = new LinkedList<>();
-	
+
+	private TemporalAdjuster adjuster;
+
+	@Getter(AccessLevel.NONE)
+	private final DerivedState derivedState = new DerivedState();
+
+	/**
+	 * Creates a sequence without an adjuster, taking the fields in their declaration order.
+	 */
+	public TimePointSequence(TimePoint startingPoint, TemporalUnit cycleUnit, Long cycleCount, Long eventDuration,
+			TemporalUnit eventDurationUnit, EventRelationship eventRelationship, TimePoint currentPoint, Long maximumPointCount,
+			TimePoint endingPoint, Long currentPointCount, DateTimeFormatter dateTimeFormatter, Boolean incrementing,
+			List<TimePointSequence> includedChildSequences, List<TimePointSequence> excludedChildSequences) {
+		this(startingPoint, cycleUnit, cycleCount, eventDuration, eventDurationUnit, eventRelationship, currentPoint,
+				maximumPointCount, endingPoint, currentPointCount, dateTimeFormatter, incrementing, includedChildSequences,
+				excludedChildSequences, null);
+	}
+
 	/**
 	 * Returns the finish point of the current event based on its duration.
 	 * @return The finish TimePoint.
@@ -74,11 +98,21 @@ public class TimePointSequence implements Iterator<TimePoint> {
 	/**
 	 * Peeks at the next point in the sequence without advancing the iterator.
 	 * This considers native increments, included children, and exclusions.
+	 * The result is resolved from the cursor kept since the last {@link #next()},
+	 * so repeated peeks at the same position are not recalculated.
 	 * 
 	 * @return The next TimePoint, or null if the end is reached.
 	 */
 	public TimePoint peekNext() {
-		return peekNextAfter(currentPoint);
+		if (hasEndBeenReached()) {
+			return null;
+		}
+		DerivedState cursor = cursor();
+		if (!cursor.resolved) {
+			cursor.resolvedPoint = resolveNext(cursor, currentPoint);
+			cursor.resolved = true;
+		}
+		return cursor.resolvedPoint;
 	}
 
 	/**
@@ -91,22 +125,97 @@ public class TimePointSequence implements Iterator<TimePoint> {
 		if (hasEndBeenReached()) {
 			return null;
 		}
+		return resolveAfter(referencePoint);
+	}
 
-		TimePoint nativeNext = peekNativeNext(referencePoint);
-		TimePoint includedNext = peekNextIncludedChild(referencePoint);
+	private TimePoint resolveAfter(TimePoint referencePoint) {
+		DerivedState heads = new DerivedState();
+		heads.nativeCycle = nativeCycle();
+		positionCursor(heads, referencePoint);
+		return resolveNext(heads, referencePoint);
+	}
 
-		TimePoint candidate = soonest(nativeNext, includedNext, referencePoint);
-		if (candidate == null) {
-			return null;
+	/**
+	 * Returns the first point strictly past the reference among the points this sequence has
+	 * returned or will return, which is how a parent sees it as a child. Unlike
+	 * {@link #peekNextAfter(TimePoint)} the answer does not depend on how far the sequence has
+	 * been iterated: points already returned are kept, and points past the last one its
+	 * maximumPointCount allows are left out.
+	 */
+	TimePoint peekPointAfter(TimePoint referencePoint) {
+		return withinCount(resolveAfter(referencePoint));
+	}
+
+	/**
+	 * Returns the first point at or past the given point, as {@link #peekPointAfter(TimePoint)}
+	 * sees the sequence. Native cycles are solved directly; otherwise this is a single seek
+	 * from just before the point.
+	 */
+	TimePoint peekPointAtOrAfter(TimePoint point) {
+		NativeCycle nativeCycle = nativeCycle();
+		if (isNativeOnly(nativeCycle)) {
+			return withinCount(withinEnd(nativeCycle.pointAt(nativeCycle.indexAtOrAfter(point))));
+		}
+		TimePoint justBefore = getIncrementing() ? point.minus(1, ChronoUnit.NANOS) : point.plus(1, ChronoUnit.NANOS);
+		return peekPointAfter(justBefore);
+	}
+
+	private TimePoint withinCount(TimePoint point) {
+		if (point == null || maximumPointCount == null) {
+			return point;
 		}
+		DerivedState state = countLimit(nativeCycle());
+		if (!state.countLimited) {
+			return point;
+		}
+		return (state.countLimit == null || passes(point, state.countLimit)) ? null : point;
+	}
 
-		TimePoint excludedNext = peekNextExcludedChild(referencePoint);
-		if (excludedNext != null && candidate.equals(excludedNext)) {
-			// Skip this candidate and find the next one after it
-			return peekNextAfter(candidate);
+	/**
+	 * Returns the state holding the last point the maximumPointCount allows, counting on from
+	 * the current point. A null countLimit with countLimited set means the sequence has no
+	 * points at all. {@link #next()} moves the current point and the count together, which
+	 * leaves the limit where it is, so it is only recalculated when the sequence is changed.
+	 */
+	private DerivedState countLimit(NativeCycle nativeCycle) {
+		DerivedState state = derivedState;
+		if (!isCountLimitCurrent(nativeCycle)) {
+			calculateCountLimit(state, nativeCycle);
+			state.countLimitCycle = nativeCycle;
+			state.countLimitMaximum = maximumPointCount;
+			state.countLimitPosition = currentPoint;
+			state.countLimitCount = currentPointCount;
 		}
+		return state;
+	}
 
-		return candidate;
+	private boolean isCountLimitCurrent(NativeCycle nativeCycle) {
+		DerivedState state = derivedState;
+		return state.countLimitCycle == nativeCycle && Objects.equals(state.countLimitMaximum, maximumPointCount)
+				&& state.countLimitPosition == currentPoint && Objects.equals(state.countLimitCount, currentPointCount);
+	}
+
+	private void calculateCountLimit(DerivedState state, NativeCycle nativeCycle) {
+		long remainingCount = maximumPointCount - ((currentPointCount == null) ? 0 : currentPointCount);
+		state.countLimited = true;
+		state.countLimit = currentPoint;
+		if (remainingCount <= 0) {
+			return;
+		}
+		if (isNativeOnly(nativeCycle)) {
+			long fromIndex = (currentPoint == null) ? 0 : nativeCycle.indexAfter(currentPoint);
+			try {
+				state.countLimit = nativeCycle.pointAt(Math.addExact(fromIndex, remainingCount - 1));
+			} catch (ArithmeticException | DateTimeException e) {
+				// Further out than any point can be
+				state.countLimited = false;
+			}
+			return;
+		}
+		TimePointSequence walker = copy();
+		for (long count = 0; count < remainingCount && walker.hasNext(); count++) {
+			state.countLimit = walker.next();
+		}
 	}
 
 	private TimePoint soonest(TimePoint point1, TimePoint point2, TimePoint referencePoint) {
@@ -115,39 +224,201 @@ public class TimePointSequence implements Iterator<TimePoint> {
 		return isBetterCandidate(point1, referencePoint, point2) ? point1 : point2;
 	}
 
-	private TimePoint peekNativeNext(TimePoint referencePoint) {
-		if (referencePoint == null) {
-			return startingPoint;
+	private NativeCycle nativeCycle() {
+		NativeCycle nativeCycle = derivedState.nativeCycle;
+		if (nativeCycle == null || !nativeCycle.matches(this)) {
+			nativeCycle = NativeCycle.of(this);
+			derivedState.nativeCycle = nativeCycle;
+			derivedState.positioned = false;
 		}
+		return nativeCycle;
+	}
 
-		if (getIncrementing()) {
-			if (referencePoint.isBefore(startingPoint)) {
-				return startingPoint;
-			}
-			
-			TimePoint point = startingPoint;
-			// Search for the first native point strictly AFTER referencePoint
-			while (point != null && !point.isAfter(referencePoint)) {
-				point = calculateNextPoint(point);
-			}
+	/**
+	 * Starts from a cycle already captured for an identical definition instead of capturing it again.
+	 */
+	void useNativeCycle(NativeCycle nativeCycle) {
+		if (nativeCycle.matches(this)) {
+			derivedState.nativeCycle = nativeCycle;
+			derivedState.positioned = false;
+		}
+	}
 
-			if (point != null && endingPoint != null && point.isAfter(endingPoint)) {
-				return null;
-			}
-			return point;
+	/**
+	 * Returns an immutable definition of this sequence that can be shared between threads,
+	 * each iterating through its own {@link TimePointSequenceDefinition#cursor()}.
+	 * 
+	 * @return A new TimePointSequenceDefinition.
+	 */
+	public TimePointSequenceDefinition toDefinition() {
+		return TimePointSequenceDefinition.of(this);
+	}
+
+	/**
+	 * Returns the cursor for the current point, repositioning it from scratch if the
+	 * sequence was changed through its setters since the cursor was last moved.
+	 */
+	private DerivedState cursor() {
+		nativeCycle();
+		DerivedState cursor = derivedState;
+		if (!cursor.positioned || cursor.position != currentPoint || !Objects.equals(cursor.positionCount, currentPointCount)
+				|| cursor.positionEndingPoint != endingPoint
+				|| cursor.includedCount != includedChildSequences.size()
+				|| cursor.excludedCount != excludedChildSequences.size()) {
+			positionCursor(cursor, currentPoint);
+			cursor.includedPending = pendingChildren(includedChildSequences);
+			cursor.excludedPending = pendingChildren(excludedChildSequences);
+			cursor.positionCount = currentPointCount;
+			cursor.positioned = true;
+		}
+		return cursor;
+	}
+
+	private void positionCursor(DerivedState cursor, TimePoint referencePoint) {
+		NativeCycle nativeCycle = cursor.nativeCycle;
+		TimePoint firstPoint = nativeCycle.pointAt(0);
+		if (referencePoint == null || passes(firstPoint, referencePoint)) {
+			cursor.nativeIndex = 0;
+			cursor.nativeHead = firstPoint;
+		} else if (nativeCycle.isClosedForm()) {
+			cursor.nativeIndex = nativeCycle.indexAfter(referencePoint);
+			cursor.nativeHead = nativeCycle.pointAt(cursor.nativeIndex);
 		} else {
-			if (referencePoint.isAfter(startingPoint)) {
-				return startingPoint;
+			cursor.nativeHead = startingPoint;
+			// Search for the first native point strictly past referencePoint
+			while (cursor.nativeHead != null && !passes(cursor.nativeHead, referencePoint)) {
+				cursor.nativeHead = calculateNextPoint(cursor.nativeHead);
 			}
-			TimePoint point = startingPoint;
-			while (point != null && !point.isBefore(referencePoint)) {
-				point = calculateNextPoint(point);
-			}
-			if (point != null && endingPoint != null && point.isBefore(endingPoint)) {
-				return null;
-			}
-			return point;
 		}
+		cursor.includedHeads = childHeads(includedChildSequences, referencePoint);
+		cursor.includedCount = includedChildSequences.size();
+		cursor.excludedHeads = childHeads(excludedChildSequences, referencePoint);
+		cursor.excludedCount = excludedChildSequences.size();
+		cursor.position = referencePoint;
+		cursor.positionEndingPoint = endingPoint;
+		cursor.resolved = false;
+	}
+
+	private SequenceHeads childHeads(List<TimePointSequence> children, TimePoint referencePoint) {
+		if (children.isEmpty()) {
+			return SequenceHeads.NONE;
+		}
+		SequenceHeads heads = new SequenceHeads(getIncrementing(), children.size());
+		int position = 0;
+		for (TimePointSequence child : children) {
+			heads.offer(child, position++, child.peekPointAfter(referencePoint));
+		}
+		return heads;
+	}
+
+	/**
+	 * Returns a heap of the children keyed on their own next point, which is how far each
+	 * child has actually been advanced by {@link #next()}.
+	 */
+	private SequenceHeads pendingChildren(List<TimePointSequence> children) {
+		if (children.isEmpty()) {
+			return SequenceHeads.NONE;
+		}
+		SequenceHeads pending = new SequenceHeads(getIncrementing(), children.size());
+		int position = 0;
+		for (TimePointSequence child : children) {
+			pending.offer(child, position++, child.peekNext());
+		}
+		return pending;
+	}
+
+	/**
+	 * Resolves the next point past the reference from the heads of the cursor. Candidates
+	 * and exclusions are walked together, merge-join style, so skipping an excluded point
+	 * only moves the heads sitting on it instead of starting over from the reference.
+	 */
+	private TimePoint resolveNext(DerivedState cursor, TimePoint referencePoint) {
+		TimePoint candidate = soonest(withinEnd(cursor.nativeHead), cursor.includedHeads.peekHead(), referencePoint);
+		while (candidate != null && isExcluded(cursor.excludedHeads, candidate)) {
+			skipCandidate(cursor, candidate);
+			candidate = soonest(withinEnd(cursor.nativeHead), cursor.includedHeads.peekHead(), referencePoint);
+		}
+		return candidate;
+	}
+
+	/**
+	 * Checks the candidate against the exclusion heads. Heads behind the candidate seek
+	 * straight to it, so a dense exclusion costs one seek per candidate, not one step per
+	 * excluded point.
+	 */
+	private boolean isExcluded(SequenceHeads excludedHeads, TimePoint candidate) {
+		while (!excludedHeads.isEmpty() && passes(candidate, excludedHeads.peekHead())) {
+			TimePoint nextHead = excludedHeads.peekSequence().peekPointAtOrAfter(candidate);
+			// A child running the other way can never reach the candidate
+			excludedHeads.rekeyTop((nextHead != null && !passes(candidate, nextHead)) ? nextHead : null);
+		}
+		return !excludedHeads.isEmpty() && candidate.equals(excludedHeads.peekHead());
+	}
+
+	private void skipCandidate(DerivedState cursor, TimePoint candidate) {
+		advanceNativeHead(cursor, candidate);
+		SequenceHeads includedHeads = cursor.includedHeads;
+		while (!includedHeads.isEmpty() && !passes(includedHeads.peekHead(), candidate)) {
+			includedHeads.rekeyTop(includedHeads.peekSequence().peekPointAfter(candidate));
+		}
+	}
+
+	private void advanceNativeHead(DerivedState cursor, TimePoint point) {
+		if (cursor.nativeHead == null || passes(cursor.nativeHead, point)) {
+			return;
+		}
+		if (cursor.nativeCycle.isClosedForm()) {
+			do {
+				cursor.nativeIndex++;
+				cursor.nativeHead = cursor.nativeCycle.pointAt(cursor.nativeIndex);
+			} while (!passes(cursor.nativeHead, point));
+		} else {
+			do {
+				cursor.nativeHead = calculateNextPoint(cursor.nativeHead);
+			} while (cursor.nativeHead != null && !passes(cursor.nativeHead, point));
+		}
+	}
+
+	private TimePoint withinEnd(TimePoint nativePoint) {
+		if (nativePoint != null && endingPoint != null && passes(nativePoint, endingPoint)) {
+			return null;
+		}
+		return nativePoint;
+	}
+
+	/**
+	 * Moves the cursor past the point just returned by {@link #next()}. Every child with
+	 * points up to the result is advanced to it, so children count the points they were
+	 * passed for, excluded ones included. Only the native head and the heads not past the
+	 * result have to move.
+	 */
+	private void advanceCursor(DerivedState cursor, TimePoint resultPoint) {
+		advanceNativeHead(cursor, resultPoint);
+		advanceChildren(cursor.includedPending, resultPoint);
+		advanceChildren(cursor.excludedPending, resultPoint);
+		advanceChildHeads(cursor.includedHeads, resultPoint);
+		advanceChildHeads(cursor.excludedHeads, resultPoint);
+		cursor.position = resultPoint;
+		cursor.positionCount = currentPointCount;
+		cursor.resolved = false;
+	}
+
+	private void advanceChildren(SequenceHeads pending, TimePoint resultPoint) {
+		while (!pending.isEmpty() && !passes(pending.peekHead(), resultPoint)) {
+			TimePointSequence child = pending.peekSequence();
+			advanceChildTo(child, resultPoint);
+			pending.rekeyTop(child.peekNext());
+		}
+	}
+
+	private void advanceChildHeads(SequenceHeads heads, TimePoint resultPoint) {
+		while (!heads.isEmpty() && !passes(heads.peekHead(), resultPoint)) {
+			heads.rekeyTop(heads.peekSequence().peekPointAfter(resultPoint));
+		}
+	}
+
+	private boolean passes(TimePoint point, TimePoint referencePoint) {
+		return getIncrementing() ? point.isAfter(referencePoint) : point.isBefore(referencePoint);
 	}
 
 	private TimePoint calculateNextPoint(TimePoint fromPoint) {
@@ -156,6 +427,10 @@ public class TimePointSequence implements Iterator<TimePoint> {
 			switch(eventRelationship) {
 			case FINISH_TO_START:
 				return fromPoint.plus(eventDuration, eventDurationUnit).plus(cycleCount, cycleUnit);
+			case FINISH_TO_FINISH:
+				return fromPoint.plus(eventDuration, eventDurationUnit).plus(cycleCount, cycleUnit).minus(eventDuration, eventDurationUnit);
+			case START_TO_FINISH:
+				return fromPoint.plus(cycleCount, cycleUnit).minus(eventDuration, eventDurationUnit);
 			default:
 				return fromPoint.plus(cycleCount, cycleUnit);
 			}
@@ -187,7 +462,7 @@ public class TimePointSequence implements Iterator<TimePoint> {
 	private TimePoint peekNextChildFromList(List<TimePointSequence> listToSearch, TimePoint currentTimePoint) {
 		TimePoint bestNext = null;
 		for (TimePointSequence child : listToSearch) {
-			TimePoint childNext = child.peekNextAfter(currentTimePoint);
+			TimePoint childNext = child.peekPointAfter(currentTimePoint);
 			if (childNext != null) {
 				if (isBetterCandidate(childNext, currentTimePoint, bestNext)) {
 					bestNext = childNext;
@@ -219,13 +494,14 @@ public class TimePointSequence implements Iterator<TimePoint> {
 		return Objects.equals(startingPoint, otherTimeIterator.startingPoint) && Objects.equals(cycleUnit, otherTimeIterator.cycleUnit)
 				&& Objects.equals(cycleCount, otherTimeIterator.cycleCount) && Objects.equals(eventDuration, otherTimeIterator.eventDuration) 
 				&& Objects.equals(eventDurationUnit, otherTimeIterator.eventDurationUnit) && Objects.equals(eventRelationship, otherTimeIterator.eventRelationship)
+				&& Objects.equals(adjuster, otherTimeIterator.adjuster)
 				&& Objects.equals(includedChildSequences, otherTimeIterator.includedChildSequences)
 				&& Objects.equals(excludedChildSequences, otherTimeIterator.excludedChildSequences);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(startingPoint, cycleUnit, cycleCount, eventDuration, eventDurationUnit, eventRelationship, includedChildSequences, excludedChildSequences);
+		return Objects.hash(startingPoint, cycleUnit, cycleCount, eventDuration, eventDurationUnit, eventRelationship, adjuster, includedChildSequences, excludedChildSequences);
 	}
 
 	/**
@@ -265,6 +541,22 @@ public class TimePointSequence implements Iterator<TimePoint> {
 			return this;
 		}
 
+		/**
+		 * Sets a rule that every native point is adjusted by, such as
+		 * {@link java.time.temporal.TemporalAdjusters#dayOfWeekInMonth(int, DayOfWeek)}.
+		 * The k-th point is the k-th cycle point with the rule applied, so a yearly cycle
+		 * with a rule yields one rule-based date per year without stepping through the
+		 * years before it. The rule must keep each point within its own cycle period, at or
+		 * after its cycle point and before the cycle point that follows it in time, so that the
+		 * points stay in cycle order; the first points are checked when the sequence is built.
+		 * @param adjuster The rule to apply to each native point.
+		 * @return this builder.
+		 */
+		public Builder adjuster(TemporalAdjuster adjuster) {
+			this.adjuster = adjuster;
+			return this;
+		}
+
 		/**
 		 * Adds a child sequence whose points will be included in the iteration.
 		 * @param sequence The sequence to include.
@@ -319,8 +611,18 @@ public class TimePointSequence implements Iterator<TimePoint> {
 				throw new IllegalArgumentException("missing cycleUnit");
 			}
 
-			return new TimePointSequence(startingPoint, cycleUnit, cycleCount, eventDuration, eventDurationUnit, eventRelationship, currentPoint, maximumPointCount,
-					endingPoint, currentPointCount, dateTimeFormatter, incrementing, includedChildSequences, excludedChildSequences);
+			TimePointSequence sequence = new TimePointSequence(startingPoint, cycleUnit, cycleCount, eventDuration, eventDurationUnit, eventRelationship,
+					currentPoint, maximumPointCount, endingPoint, currentPointCount, dateTimeFormatter, incrementing, includedChildSequences, excludedChildSequences, adjuster);
+			if (!sequence.passes(sequence.calculateNextPoint(startingPoint), startingPoint)) {
+				throw new IllegalArgumentException(eventRelationship + " with this cycle and eventDuration does not advance the sequence");
+			}
+			if (adjuster != null && !sequence.nativeCycle().isClosedForm()) {
+				throw new IllegalArgumentException("adjuster requires a cycle that can be computed in closed form");
+			}
+			if (!sequence.nativeCycle().keepsAdjustedPointsInPeriod()) {
+				throw new IllegalArgumentException("adjuster must keep each point within its own cycle period");
+			}
+			return sequence;
 		}
 	}
 
@@ -351,39 +653,105 @@ public class TimePointSequence implements Iterator<TimePoint> {
 	 */
 	@Override
 	public TimePoint next() {
-		if (hasNext()) {
-			TimePoint result = peekNext();
-			
-			// We need to advance all child iterators to 'result'
-			// so that subsequent calls to peekNextAfter(result) don't see them.
-			advanceChildIterators(result);
-
-			currentPoint = result;
-			currentPointCount = (currentPointCount == null) ? 1 : currentPointCount + 1;
-			return result;
-		} else {
+		TimePoint result = peekNext();
+		if (result == null) {
 			throw new NoSuchElementException();
 		}
+		DerivedState cursor = derivedState;
+		boolean countLimitCurrent = isCountLimitCurrent(cursor.nativeCycle);
+		currentPoint = result;
+		currentPointCount = (currentPointCount == null) ? 1 : currentPointCount + 1;
+		keepCountLimit(countLimitCurrent);
+
+		// We need to advance the child iterators to 'result'
+		// so that subsequent calls to peekNextAfter(result) don't see them.
+		advanceCursor(cursor, result);
+		return result;
 	}
 
-	private void advanceChildIterators(TimePoint resultPoint) {
-		for (TimePointSequence child : includedChildSequences) {
-			advanceChildTo(child, resultPoint);
-		}
-		for (TimePointSequence child : excludedChildSequences) {
-			advanceChildTo(child, resultPoint);
+	private void keepCountLimit(boolean countLimitCurrent) {
+		if (countLimitCurrent) {
+			derivedState.countLimitPosition = currentPoint;
+			derivedState.countLimitCount = currentPointCount;
 		}
 	}
 
 	private void advanceChildTo(TimePointSequence child, TimePoint targetPoint) {
-		while (child.hasNext()) {
-			TimePoint nextPoint = child.peekNext();
+		if (child.getIncrementing() == getIncrementing() && child.skipTo(targetPoint)) {
+			return;
+		}
+		TimePoint nextPoint = child.peekNext();
+		while (nextPoint != null) {
 			if (getIncrementing()) {
 				if (nextPoint.isAfter(targetPoint)) break;
 			} else {
 				if (nextPoint.isBefore(targetPoint)) break;
 			}
 			child.next();
+			nextPoint = child.peekNext();
+		}
+	}
+
+	/**
+	 * Advances a sequence without children through every point up to the target in one step,
+	 * counting the points it passes arithmetically.
+	 *
+	 * @return false if the sequence has to be stepped through instead.
+	 */
+	private boolean skipTo(TimePoint targetPoint) {
+		NativeCycle nativeCycle = nativeCycle();
+		if (!isNativeOnly(nativeCycle)) {
+			return false;
+		}
+		TimePoint nextPoint = peekNext();
+		if (nextPoint == null || passes(nextPoint, targetPoint)) {
+			return true;
+		}
+		long fromIndex = nativeCycle.indexAtOrAfter(nextPoint);
+		long toIndex = nativeCycle.indexAfter(targetPoint) - 1;
+		if (endingPoint != null) {
+			toIndex = Math.min(toIndex, nativeCycle.indexAfter(endingPoint) - 1);
+		}
+		long pointCount = (currentPointCount == null) ? 0 : currentPointCount;
+		if (maximumPointCount != null) {
+			toIndex = Math.min(toIndex, fromIndex + (maximumPointCount - pointCount) - 1);
+		}
+		boolean countLimitCurrent = isCountLimitCurrent(nativeCycle);
+		currentPoint = nativeCycle.pointAt(toIndex);
+		currentPointCount = pointCount + (toIndex - fromIndex + 1);
+		keepCountLimit(countLimitCurrent);
+		return true;
+	}
+
+	/**
+	 * Passes every point up to and including the target as if {@link #next()} had returned each,
+	 * without stepping through them. The skipped points are counted with {@link #countBefore},
+	 * and the sequence rests on the target itself, from where the children are skipped as well.
+	 */
+	void skipThrough(TimePoint targetPoint) {
+		if (skipTo(targetPoint)) {
+			return;
+		}
+		TimePoint nextPoint = peekNext();
+		if (nextPoint == null || passes(nextPoint, targetPoint)) {
+			return;
+		}
+		long skippedCount = countBefore(targetPoint, true);
+		currentPoint = targetPoint;
+		currentPointCount = ((currentPointCount == null) ? 0 : currentPointCount) + skippedCount;
+		for (TimePointSequence child : includedChildSequences) {
+			skipChildThrough(child, targetPoint);
+		}
+		for (TimePointSequence child : excludedChildSequences) {
+			skipChildThrough(child, targetPoint);
+		}
+	}
+
+	private void skipChildThrough(TimePointSequence child, TimePoint targetPoint) {
+		if (child.getIncrementing() == getIncrementing()) {
+			child.skipThrough(targetPoint);
+		} else {
+			advanceChildTo(child, targetPoint);
 		}
 	}
 
@@ -398,6 +766,285 @@ public class TimePointSequence implements Iterator<TimePoint> {
 		return resultStream;
 	}
 
+	/**
+	 * Counts the points this sequence has left to return, as {@link #next()} would return
+	 * them, that come before the end point in the direction of iteration.
+	 * Native cycles are counted arithmetically and child sequences by inclusion-exclusion
+	 * of their coinciding points, so the cost does not grow with the number of points.
+	 * Cycles without a closed form fall back to stepping through a copy of the sequence.
+	 * The sequence itself is not advanced.
+	 *
+	 * @param endPoint The point to count up to, exclusive.
+	 * @return The number of points before endPoint.
+	 */
+	public long countUntil(TimePoint endPoint) {
+		return countBefore(endPoint, false);
+	}
+
+	/**
+	 * Counts the points this sequence has left to return that fall in the time range from
+	 * startPoint (inclusive) to endPoint (exclusive), whichever the direction of iteration.
+	 * The sequence itself is not advanced.
+	 *
+	 * @param startPoint The start of the range, inclusive.
+	 * @param endPoint The end of the range, exclusive.
+	 * @return The number of points in the range.
+	 */
+	public long countBetween(TimePoint startPoint, TimePoint endPoint) {
+		if (!startPoint.isBefore(endPoint)) {
+			return 0;
+		}
+		if (getIncrementing()) {
+			return countBefore(endPoint, false) - countBefore(startPoint, false);
+		}
+		// Decrementing, the points at or after a time are the ones returned up to it
+		return countBefore(startPoint, true) - countBefore(endPoint, true);
+	}
+
+	/**
+	 * Counts the remaining points before the limit in the direction of iteration, or up to
+	 * and including the limit when inclusive.
+	 */
+	long countBefore(TimePoint limit, boolean inclusive) {
+		if (hasEndBeenReached()) {
+			return 0;
+		}
+		PointCounter counter = PointCounter.of(this);
+		if (counter != null) {
+			long remainingCount = (maximumPointCount == null) ? Long.MAX_VALUE
+					: maximumPointCount - ((currentPointCount == null) ? 0 : currentPointCount);
+			// The remaining points before the limit are a prefix of what is left, so the maximum just caps them
+			return Math.min(remainingCount, counter.countBefore(limit, inclusive));
+		}
+		TimePointSequence walker = copy();
+		long count = 0;
+		for (TimePoint point = walker.peekNext(); point != null
+				&& (inclusive ? !passes(point, limit) : passes(limit, point)); point = walker.peekNext()) {
+			walker.next();
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns a copy of this sequence and its child sequences in their current state.
+	 */
+	TimePointSequence copy() {
+		return copy(false);
+	}
+
+	/**
+	 * Returns a copy of this sequence and its child sequences that starts over from the beginning.
+	 */
+	TimePointSequence restartedCopy() {
+		return copy(true);
+	}
+
+	private TimePointSequence copy(boolean restarted) {
+		List<TimePointSequence> includedCopies = new LinkedList<>();
+		includedChildSequences.forEach(child -> includedCopies.add(child.copy(restarted)));
+		List<TimePointSequence> excludedCopies = new LinkedList<>();
+		excludedChildSequences.forEach(child -> excludedCopies.add(child.copy(restarted)));
+		return new TimePointSequence(startingPoint, cycleUnit, cycleCount, eventDuration, eventDurationUnit, eventRelationship,
+				restarted ? null : currentPoint, maximumPointCount, endingPoint, restarted ? null : currentPointCount,
+				dateTimeFormatter, incrementing, includedCopies, excludedCopies, adjuster);
+	}
+
+	/**
+	 * Returns the point with the given index, counted from the beginning of the sequence, where
+	 * index 0 is the first point {@link #next()} returns on a new sequence. The sequence itself is
+	 * not advanced. Native cycles are computed directly from the index; sequences with child
+	 * sequences or without a closed form use a skip index of checkpoints every
+	 * {@value OccurrenceIndex#CHECKPOINT_INTERVAL} points, built as far as it has been asked for.
+	 *
+	 * @param index The zero based occurrence index.
+	 * @return The point with that index, or null if the sequence has fewer points.
+	 * @throws IllegalArgumentException if the index is negative.
+	 */
+	public TimePoint occurrence(long index) {
+		if (index < 0) {
+			throw new IllegalArgumentException("index must not be negative");
+		}
+		if (maximumPointCount != null && index >= maximumPointCount) {
+			return null;
+		}
+		NativeCycle nativeCycle = nativeCycle();
+		if (isNativeOnly(nativeCycle)) {
+			return withinEnd(nativeCycle.pointAt(index));
+		}
+		return occurrenceIndex(nativeCycle).occurrence(index);
+	}
+
+	/**
+	 * Returns the index of the point, counted from the beginning of the sequence as in
+	 * {@link #occurrence(long)}. The sequence itself is not advanced. Native cycles are solved
+	 * directly, child sequences are counted arithmetically where {@link #countUntil} can, and
+	 * the rest are looked up in the skip index.
+	 *
+	 * @param point The point to look for.
+	 * @return The zero based occurrence index, or -1 if the point is not in the sequence.
+	 */
+	public long indexOf(TimePoint point) {
+		NativeCycle nativeCycle = nativeCycle();
+		long index;
+		if (isNativeOnly(nativeCycle)) {
+			index = nativeCycle.indexAtOrAfter(point);
+			if (withinEnd(point) == null || !nativeCycle.pointAt(index).equals(point)) {
+				return -1;
+			}
+		} else {
+			PointCounter counter = PointCounter.of(restartedCopy());
+			if (counter == null) {
+				return occurrenceIndex(nativeCycle).indexOf(point);
+			}
+			index = counter.countBefore(point, false);
+			if (counter.countBefore(point, true) == index) {
+				return -1;
+			}
+		}
+		return (maximumPointCount != null && index >= maximumPointCount) ? -1 : index;
+	}
+
+	private boolean isNativeOnly(NativeCycle nativeCycle) {
+		return includedChildSequences.isEmpty() && excludedChildSequences.isEmpty() && nativeCycle.isClosedForm();
+	}
+
+	private OccurrenceIndex occurrenceIndex(NativeCycle nativeCycle) {
+		OccurrenceIndex occurrenceIndex = derivedState.occurrenceIndex;
+		if (occurrenceIndex == null || !occurrenceIndex.matches(nativeCycle)) {
+			occurrenceIndex = OccurrenceIndex.of(this, nativeCycle);
+			derivedState.occurrenceIndex = occurrenceIndex;
+		}
+		return occurrenceIndex;
+	}
+
+	/**
+	 * Returns a Spliterator over the points remaining after the current point, without
+	 * advancing this sequence. When the sequence has no child sequences, a closed form
+	 * cycle and a maximumPointCount or endingPoint, the points are split by occurrence
+	 * index and the Spliterator is SIZED, SUBSIZED, SORTED, DISTINCT and IMMUTABLE.
+	 * Otherwise the points are walked one after the other and the Spliterator does not split.
+	 *
+	 * @return A Spliterator of the remaining TimePoints.
+	 */
+	public Spliterator<TimePoint> spliterator() {
+		NativeCycle nativeCycle = nativeCycle();
+		if (isEndDefined() && includedChildSequences.isEmpty() && excludedChildSequences.isEmpty()
+				&& nativeCycle.isClosedForm()) {
+			long fromIndex = hasEndBeenReached() ? 0 : nativeCycle.indexAfter(currentPoint);
+			long toIndex = hasEndBeenReached() ? 0 : Long.MAX_VALUE;
+			if (maximumPointCount != null) {
+				long remainingCount = maximumPointCount - ((currentPointCount == null) ? 0 : currentPointCount);
+				toIndex = Math.min(toIndex, fromIndex + Math.min(Math.max(0, remainingCount), Long.MAX_VALUE - fromIndex));
+			}
+			if (endingPoint != null) {
+				toIndex = Math.min(toIndex, nativeCycle.indexAfter(endingPoint));
+			}
+			return new IndexRangeSpliterator(nativeCycle, getIncrementing(), fromIndex, toIndex);
+		}
+		Iterator<TimePoint> remainingPoints = new Iterator<TimePoint>() {
+			private TimePoint previousPoint = currentPoint;
+
+			private long pointCount = (currentPointCount == null) ? 0 : currentPointCount;
+
+			private TimePoint nextPoint = peekNext();
+
+			@Override
+			public boolean hasNext() {
+				return nextPoint != null;
+			}
+
+			@Override
+			public TimePoint next() {
+				if (nextPoint == null) {
+					throw new NoSuchElementException();
+				}
+				previousPoint = nextPoint;
+				pointCount++;
+				boolean endReached = maximumPointCount != null && pointCount >= maximumPointCount;
+				nextPoint = endReached ? null : peekNextAfter(previousPoint);
+				return previousPoint;
+			}
+		};
+		return Spliterators.spliteratorUnknownSize(remainingPoints, Spliterator.ORDERED | Spliterator.NONNULL);
+	}
+
+	/**
+	 * Returns a parallel Stream of the points remaining after the current point, without
+	 * advancing this sequence. Bounded sequences without child sequences are generated by
+	 * disjoint index ranges; see {@link #spliterator()}.
+	 *
+	 * @return A parallel Stream of TimePoint.
+	 */
+	public Stream<TimePoint> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	/**
+	 * Returns a sequential LongStream of the epoch values of the points from this sequence.
+	 * Like {@link #stream()}, the sequence is advanced as the stream is consumed.
+	 * 
+	 * @param unit The epoch unit to emit.
+	 * @return A LongStream of epoch values.
+	 */
+	public LongStream epochStream(EpochUnit unit) {
+		return TimePointStreams.epochStream(this, unit);
+	}
+
+	/**
+	 * Advances the sequence by up to length points and writes their epoch values into the
+	 * array, starting at offset. The result is the same as calling {@link #next()} for each
+	 * point, but the bounds and the maximumPointCount are checked once per batch, and native
+	 * cycles without child sequences are filled straight from their occurrence index.
+	 *
+	 * @param epochValues The array to fill.
+	 * @param offset The first array position to write.
+	 * @param length The maximum number of points to write.
+	 * @param unit The epoch unit to write.
+	 * @return The number of points written; less than length only when the sequence has ended.
+	 * @throws IndexOutOfBoundsException if the range does not fit in the array.
+	 */
+	public int nextBatch(long[] epochValues, int offset, int length, EpochUnit unit) {
+		Objects.checkFromIndexSize(offset, length, epochValues.length);
+		long pointCount = (currentPointCount == null) ? 0 : currentPointCount;
+		int limit = length;
+		if (maximumPointCount != null) {
+			limit = (int) Math.max(0, Math.min(limit, maximumPointCount - pointCount));
+		}
+		NativeCycle nativeCycle = nativeCycle();
+		int filled = 0;
+		if (isNativeOnly(nativeCycle)) {
+			long index = nativeCycle.indexAfter(currentPoint);
+			TimePoint lastPoint = null;
+			for (; filled < limit; filled++) {
+				TimePoint point = withinEnd(nativeCycle.pointAt(index + filled));
+				if (point == null) {
+					break;
+				}
+				epochValues[offset + filled] = unit.of(point);
+				lastPoint = point;
+			}
+			if (filled > 0) {
+				currentPoint = lastPoint;
+				currentPointCount = pointCount + filled;
+			}
+			return filled;
+		}
+		for (; filled < limit && peekNext() != null; filled++) {
+			epochValues[offset + filled] = unit.of(next());
+		}
+		return filled;
+	}
+
+	/**
+	 * Returns a sequential IntStream of the epoch days of the points from this sequence.
+	 * 
+	 * @return An IntStream of epoch days.
+	 */
+	public IntStream epochDayStream() {
+		return TimePointStreams.epochDayStream(this);
+	}
+
 	/**
 	 * Returns a string representation of all points in the sequence.
 	 * @return A formatted string of points.
@@ -423,6 +1070,57 @@ public class TimePointSequence implements Iterator<TimePoint> {
 				.collect(Collectors.joining(", ", "[", "]"));
 	}
 
+	/**
+	 * Values derived from the sequence definition, kept so they are not recalculated on every peek.
+	 * Besides the native cycle this is the iteration cursor: the next native point, the head of
+	 * every child sequence and the resolved next point, all relative to {@code position}.
+	 */
+	private static class DerivedState {
+		private NativeCycle nativeCycle;
+
+		private boolean positioned;
+
+		private TimePoint position;
+
+		private Long positionCount;
+
+		private TimePoint positionEndingPoint;
+
+		private long nativeIndex;
+
+		private TimePoint nativeHead;
+
+		private SequenceHeads includedHeads;
+
+		private int includedCount;
+
+		private SequenceHeads excludedHeads;
+
+		private SequenceHeads includedPending;
+
+		private SequenceHeads excludedPending;
+
+		private int excludedCount;
+
+		private boolean resolved;
+
+		private TimePoint resolvedPoint;
+
+		private OccurrenceIndex occurrenceIndex;
+
+		private NativeCycle countLimitCycle;
+
+		private Long countLimitMaximum;
+
+		private TimePoint countLimitPosition;
+
+		private Long countLimitCount;
+
+		private boolean countLimited;
+
+		private TimePoint countLimit;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("TimePointSequence[start=%s, direction=%s, max=%s]",
@@ -0,0 +1,154 @@
+package com.pracht.timeiterator;
+
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.pracht.timeiterator.model.EventRelationship;
+import com.pracht.timeiterator.model.TimePoint;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * TimePointSequenceDefinition is the rule of a {@link TimePointSequence} without its iteration
+ * state: the starting point, the cycle, the limits and the child rules. It is immutable, so one
+ * definition can be shared by any number of threads. Each caller iterates through its own
+ * cursor, a TimePointSequence created by {@link #cursor()} that starts over from the beginning
+ * with child sequences of its own. Cursors share the closed form cycle of the definition, so
+ * creating one only allocates the sequence tree.
+ *
+ * @author bpracht
+ */
+@Getter
+@EqualsAndHashCode
+public final class TimePointSequenceDefinition {
+	private final TimePoint startingPoint;
+
+	private final TemporalUnit cycleUnit;
+
+	private final Long cycleCount;
+
+	private final Long eventDuration;
+
+	private final TemporalUnit eventDurationUnit;
+
+	private final EventRelationship eventRelationship;
+
+	private final TemporalAdjuster adjuster;
+
+	private final Long maximumPointCount;
+
+	private final TimePoint endingPoint;
+
+	private final DateTimeFormatter dateTimeFormatter;
+
+	private final Boolean incrementing;
+
+	private final List<TimePointSequenceDefinition> includedChildDefinitions;
+
+	private final List<TimePointSequenceDefinition> excludedChildDefinitions;
+
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	private final NativeCycle nativeCycle;
+
+	private TimePointSequenceDefinition(TimePointSequence sequence) {
+		this.startingPoint = sequence.getStartingPoint();
+		this.cycleUnit = sequence.getCycleUnit();
+		this.cycleCount = sequence.getCycleCount();
+		this.eventDuration = sequence.getEventDuration();
+		this.eventDurationUnit = sequence.getEventDurationUnit();
+		this.eventRelationship = sequence.getEventRelationship();
+		this.adjuster = sequence.getAdjuster();
+		this.maximumPointCount = sequence.getMaximumPointCount();
+		this.endingPoint = sequence.getEndingPoint();
+		this.dateTimeFormatter = sequence.getDateTimeFormatter();
+		this.incrementing = sequence.getIncrementing();
+		this.includedChildDefinitions = definitionsOf(sequence.getIncludedChildSequences());
+		this.excludedChildDefinitions = definitionsOf(sequence.getExcludedChildSequences());
+		this.nativeCycle = NativeCycle.of(sequence);
+	}
+
+	/**
+	 * Captures the rule of the given sequence and of its child sequences. Their current points
+	 * are ignored and later changes to them do not affect the definition.
+	 *
+	 * @param sequence The sequence to capture.
+	 * @return A new TimePointSequenceDefinition.
+	 */
+	public static TimePointSequenceDefinition of(TimePointSequence sequence) {
+		return new TimePointSequenceDefinition(sequence);
+	}
+
+	private static List<TimePointSequenceDefinition> definitionsOf(List<TimePointSequence> sequences) {
+		List<TimePointSequenceDefinition> definitions = new ArrayList<>(sequences.size());
+		sequences.forEach(sequence -> definitions.add(of(sequence)));
+		return Collections.unmodifiableList(definitions);
+	}
+
+	/**
+	 * Creates a cursor over the points of this definition, starting from the beginning.
+	 * The cursor belongs to the caller and is not thread-safe itself.
+	 *
+	 * @return A new TimePointSequence.
+	 */
+	public TimePointSequence cursor() {
+		List<TimePointSequence> includedCursors = new LinkedList<>();
+		includedChildDefinitions.forEach(definition -> includedCursors.add(definition.cursor()));
+		List<TimePointSequence> excludedCursors = new LinkedList<>();
+		excludedChildDefinitions.forEach(definition -> excludedCursors.add(definition.cursor()));
+		TimePointSequence cursor = new TimePointSequence(startingPoint, cycleUnit, cycleCount, eventDuration, eventDurationUnit,
+				eventRelationship, null, maximumPointCount, endingPoint, null, dateTimeFormatter, incrementing,
+				includedCursors, excludedCursors, adjuster);
+		cursor.useNativeCycle(nativeCycle);
+		return cursor;
+	}
+
+	/**
+	 * Returns the first point of this definition strictly after the reference point in the
+	 * direction of iteration.
+	 *
+	 * @param referencePoint The point to look after.
+	 * @return The next TimePoint, or null.
+	 */
+	public TimePoint nextAfter(TimePoint referencePoint) {
+		return cursor().peekNextAfter(referencePoint);
+	}
+
+	/**
+	 * Returns the point with the given index; see {@link TimePointSequence#occurrence(long)}.
+	 *
+	 * @param index The zero based occurrence index.
+	 * @return The point with that index, or null if the definition has fewer points.
+	 */
+	public TimePoint occurrence(long index) {
+		return cursor().occurrence(index);
+	}
+
+	/**
+	 * Returns the index of the point; see {@link TimePointSequence#indexOf(TimePoint)}.
+	 *
+	 * @param point The point to look for.
+	 * @return The zero based occurrence index, or -1 if the point is not in the definition.
+	 */
+	public long indexOf(TimePoint point) {
+		return cursor().indexOf(point);
+	}
+
+	/**
+	 * Counts the points in a time range; see {@link TimePointSequence#countBetween}.
+	 *
+	 * @param startPoint The start of the range, inclusive.
+	 * @param endPoint The end of the range, exclusive.
+	 * @return The number of points in the range.
+	 */
+	public long countBetween(TimePoint startPoint, TimePoint endPoint) {
+		return cursor().countBetween(startPoint, endPoint);
+	}
+}
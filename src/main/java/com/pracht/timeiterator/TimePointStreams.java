@@ -0,0 +1,71 @@
+package com.pracht.timeiterator;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import com.pracht.timeiterator.model.EpochUnit;
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * Builds primitive streams over the points of a {@link TimePointSequence} or a
+ * {@link TimePointIterator}. Each point is reduced to its epoch value as it is drawn,
+ * so nothing is boxed on the way to the consumer.
+ *
+ * @author bpracht
+ */
+final class TimePointStreams {
+
+	private TimePointStreams() {
+	}
+
+	/**
+	 * Returns a sequential LongStream of epoch values drawn from the iterator.
+	 * 
+	 * @param timePoints The points to draw from; consumed as the stream is.
+	 * @param unit The epoch unit to emit.
+	 * @return A LongStream of epoch values.
+	 */
+	static LongStream epochStream(Iterator<TimePoint> timePoints, EpochUnit unit) {
+		PrimitiveIterator.OfLong values = new PrimitiveIterator.OfLong() {
+			@Override
+			public boolean hasNext() {
+				return timePoints.hasNext();
+			}
+
+			@Override
+			public long nextLong() {
+				return unit.of(timePoints.next());
+			}
+		};
+		Spliterator.OfLong spliterator = Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.longStream(spliterator, false);
+	}
+
+	/**
+	 * Returns a sequential IntStream of epoch days drawn from the iterator.
+	 * 
+	 * @param timePoints The points to draw from; consumed as the stream is.
+	 * @return An IntStream of epoch days.
+	 * @throws ArithmeticException when a point lies outside the int range of epoch days.
+	 */
+	static IntStream epochDayStream(Iterator<TimePoint> timePoints) {
+		PrimitiveIterator.OfInt values = new PrimitiveIterator.OfInt() {
+			@Override
+			public boolean hasNext() {
+				return timePoints.hasNext();
+			}
+
+			@Override
+			public int nextInt() {
+				return Math.toIntExact(timePoints.next().toEpochDay());
+			}
+		};
+		Spliterator.OfInt spliterator = Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.intStream(spliterator, false);
+	}
+}
@@ -0,0 +1,165 @@
+package com.pracht.timeiterator;
+
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import com.pracht.timeiterator.model.TimePoint;
+import com.pracht.timeiterator.model.ZoneTransitionTable;
+
+/**
+ * ZoneFanOut places the points of one local schedule in many zones and returns them as one
+ * stream ordered by instant, each point carrying its zone. The local points are generated once;
+ * each is projected into every zone with a lookup in a {@link ZoneTransitionTable}, and zones
+ * following the same rules share one table.
+ * <p>
+ * A local point lands within 18 hours of its own local date time read as UTC, the widest
+ * offset there is. Projected points are therefore held in a heap only until the local schedule
+ * has moved 18 hours past them, so memory stays at the points of about a day and a half. The
+ * local schedule itself is not advanced; the fan-out walks a copy of it.
+ *
+ * @author bpracht
+ */
+public final class ZoneFanOut implements Iterator<TimePoint> {
+	/** The widest distance between a local date time and its instant, in seconds. */
+	private static final long MAXIMUM_OFFSET_SECONDS = 18 * 3_600L;
+
+	/** How far ahead each shared table reaches before it is rebuilt further on. */
+	private static final long TABLE_WINDOW_SECONDS = 10L * 366 * 86_400;
+
+	private static final Comparator<Projection> BY_INSTANT = Comparator
+			.comparing((Projection projection) -> projection.point, SequenceHeads::compareAscending)
+			.thenComparingLong(projection -> projection.localIndex).thenComparingInt(projection -> projection.zoneIndex);
+
+	private final TimePointSequence localSchedule;
+
+	private final ZoneId[] zones;
+
+	/** The zones of each group of zones with the same rules, as positions in {@link #zones}. */
+	private final int[][] groups;
+
+	/** The table of each zone, shared within its group. */
+	private final ZoneTransitionTable[] tables;
+
+	private final PriorityQueue<Projection> projections = new PriorityQueue<>(BY_INSTANT);
+
+	private long localIndex;
+
+	private ZoneFanOut(TimePointSequence localSchedule, List<ZoneId> zones) {
+		this.localSchedule = localSchedule;
+		this.zones = zones.toArray(new ZoneId[0]);
+		Map<ZoneRules, List<Integer>> byRules = new LinkedHashMap<>();
+		for (int i = 0; i < this.zones.length; i++) {
+			byRules.computeIfAbsent(this.zones[i].getRules(), rules -> new ArrayList<>()).add(i);
+		}
+		this.groups = byRules.values().stream().map(group -> group.stream().mapToInt(Integer::intValue).toArray())
+				.toArray(int[][]::new);
+		this.tables = new ZoneTransitionTable[this.zones.length];
+	}
+
+	/**
+	 * Creates a fan-out of a local schedule into the given zones. Points at the same instant come
+	 * in the order of their local points, then in the order of the zones in the list.
+	 *
+	 * @param localSchedule An incrementing sequence of local points.
+	 * @param zones The zones to place every local point in.
+	 * @return A new ZoneFanOut.
+	 * @throws IllegalArgumentException if the schedule is zoned or decrementing.
+	 */
+	public static ZoneFanOut of(TimePointSequence localSchedule, List<ZoneId> zones) {
+		if (localSchedule.getStartingPoint().isZoned() || !localSchedule.getIncrementing()) {
+			throw new IllegalArgumentException("Only an incrementing local schedule can be fanned out: " + localSchedule);
+		}
+		return new ZoneFanOut(localSchedule.copy(), zones);
+	}
+
+	/**
+	 * Creates a fan-out of a local schedule definition into the given zones.
+	 *
+	 * @param localSchedule The definition of an incrementing sequence of local points.
+	 * @param zones The zones to place every local point in.
+	 * @return A new ZoneFanOut.
+	 * @throws IllegalArgumentException if the schedule is zoned or decrementing.
+	 */
+	public static ZoneFanOut of(TimePointSequenceDefinition localSchedule, List<ZoneId> zones) {
+		return of(localSchedule.cursor(), zones);
+	}
+
+	/**
+	 * Returns the number of distinct zone rules, which is the number of tables built.
+	 *
+	 * @return The number of groups of zones sharing a table.
+	 */
+	public int getRulesCount() {
+		return groups.length;
+	}
+
+	@Override
+	public boolean hasNext() {
+		fill();
+		return !projections.isEmpty();
+	}
+
+	@Override
+	public TimePoint next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return projections.poll().point;
+	}
+
+	/**
+	 * Projects local points until the earliest projection cannot be preceded by the projection
+	 * of a later local point.
+	 */
+	private void fill() {
+		TimePoint nextLocal = localSchedule.peekNext();
+		while (nextLocal != null && (projections.isEmpty()
+				|| projections.peek().point.toEpochSecond() >= nextLocal.toEpochSecond() - MAXIMUM_OFFSET_SECONDS)) {
+			project(localSchedule.next());
+			nextLocal = localSchedule.peekNext();
+		}
+	}
+
+	private void project(TimePoint localPoint) {
+		long local = localPoint.toEpochSecond();
+		for (int[] group : groups) {
+			if (tables[group[0]] == null || !tables[group[0]].coversLocal(local)) {
+				buildTables(group, local);
+			}
+			for (int zoneIndex : group) {
+				projections.add(new Projection(localPoint.atZone(tables[zoneIndex]), localIndex, zoneIndex));
+			}
+		}
+		localIndex++;
+	}
+
+	private void buildTables(int[] group, long local) {
+		long from = local - 2 * MAXIMUM_OFFSET_SECONDS;
+		ZoneTransitionTable shared = ZoneTransitionTable.of(zones[group[0]], from, from + TABLE_WINDOW_SECONDS);
+		for (int zoneIndex : group) {
+			tables[zoneIndex] = shared.withZone(zones[zoneIndex]);
+		}
+	}
+
+	private static class Projection {
+		private final TimePoint point;
+
+		private final long localIndex;
+
+		private final int zoneIndex;
+
+		private Projection(TimePoint point, long localIndex, int zoneIndex) {
+			this.point = point;
+			this.localIndex = localIndex;
+			this.zoneIndex = zoneIndex;
+		}
+	}
+}
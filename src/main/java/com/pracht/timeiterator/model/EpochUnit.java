@@ -0,0 +1,32 @@
+package com.pracht.timeiterator.model;
+
+/**
+ * Defines the primitive epoch values a {@link TimePoint} can be reduced to.
+ * Zoned points are measured from the epoch instant; local points are measured
+ * as if their local date time were in UTC.
+ */
+public enum EpochUnit {
+	/** Seconds since 1970-01-01T00:00:00. */
+	SECONDS,
+	/** Milliseconds since 1970-01-01T00:00:00. */
+	MILLIS,
+	/** Days since 1970-01-01, taken from the local date of the point. */
+	DAYS;
+
+	/**
+	 * Returns the epoch value of the given point in this unit.
+	 * 
+	 * @param timePoint The point to convert.
+	 * @return The epoch value.
+	 */
+	public long of(TimePoint timePoint) {
+		switch (this) {
+		case SECONDS:
+			return timePoint.toEpochSecond();
+		case MILLIS:
+			return timePoint.toEpochMilli();
+		default:
+			return timePoint.toEpochDay();
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.pracht.timeiterator.model;
+
+import lombok.Value;
+
+/**
+ * Two events that share some time. The first event is the one that started first, or, starting
+ * at the same point, the one that came out of the earlier source.
+ */
+@Value
+public class EventConflict {
+	/** The event already going on when the second one started. */
+	EventInterval first;
+
+	/** The event that started while the first was going on. */
+	EventInterval second;
+
+	/**
+	 * Returns the point the overlap starts at, which is the start of the second event.
+	 *
+	 * @return The start of the shared time.
+	 */
+	public TimePoint getOverlapStart() {
+		return second.getStart();
+	}
+
+	/**
+	 * Returns the point the overlap finishes at, whichever event finishes first.
+	 *
+	 * @return The finish of the shared time, outside of it.
+	 */
+	public TimePoint getOverlapFinish() {
+		return first.getFinish().isBefore(second.getFinish()) ? first.getFinish() : second.getFinish();
+	}
+}
@@ -0,0 +1,40 @@
+package com.pracht.timeiterator.model;
+
+import lombok.Value;
+
+/**
+ * An event from a sequence: the half open time range from its start point up to, but not
+ * including, its finish point, and the position of the sequence it came from.
+ */
+@Value
+public class EventInterval {
+	/** The point the event starts at. */
+	TimePoint start;
+
+	/** The point the event finishes at, outside the event. */
+	TimePoint finish;
+
+	/** The position of the source sequence in the list the events were taken from. */
+	int sourceIndex;
+
+	/**
+	 * Checks whether the event is going on at the given point.
+	 *
+	 * @param timePoint The point to check.
+	 * @return true if the point is at or after the start and before the finish.
+	 */
+	public boolean contains(TimePoint timePoint) {
+		return !timePoint.isBefore(start) && timePoint.isBefore(finish);
+	}
+
+	/**
+	 * Checks whether the event shares any time with the range from rangeStart up to rangeEnd.
+	 *
+	 * @param rangeStart The start of the range, inclusive.
+	 * @param rangeEnd The end of the range, exclusive.
+	 * @return true if the event and the range overlap.
+	 */
+	public boolean overlaps(TimePoint rangeStart, TimePoint rangeEnd) {
+		return start.isBefore(rangeEnd) && finish.isAfter(rangeStart);
+	}
+}
@@ -1,9 +1,15 @@
 package com.pracht.timeiterator.model;
 
+import java.time.DateTimeException;
 import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalUnit;
 import java.util.Objects;
 
@@ -11,15 +17,32 @@ import java.util.Objects;
  * TimePoint is a composite class that can represent either a LocalDateTime
  * or a ZonedDateTime. It provides a unified API for temporal calculations
  * and comparisons regardless of whether a time zone is present.
+ * <p>
+ * The point is stored as primitive epoch seconds plus nanos. A local point keeps its
+ * local date time as if it were UTC; a zoned point keeps its instant together with the
+ * offset and zone in effect. Comparisons and fixed-length arithmetic work on the
+ * primitives directly, and java.time objects are only created when asked for.
  */
 public class TimePoint {
 
-    private final LocalDateTime localDateTime;
-    private final ZonedDateTime zonedDateTime;
+    private static final long SECONDS_PER_DAY = 86_400L;
 
-    private TimePoint(LocalDateTime localDateTime, ZonedDateTime zonedDateTime) {
-        this.localDateTime = localDateTime;
-        this.zonedDateTime = zonedDateTime;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final long MINIMUM_LOCAL_EPOCH_SECOND = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+
+    private static final long MAXIMUM_LOCAL_EPOCH_SECOND = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+
+    private final long epochSecond;
+    private final int nano;
+    private final ZoneOffset offset;
+    private final ZoneId zone;
+
+    private TimePoint(long epochSecond, int nano, ZoneOffset offset, ZoneId zone) {
+        this.epochSecond = epochSecond;
+        this.nano = nano;
+        this.offset = offset;
+        this.zone = zone;
     }
 
     /**
@@ -29,7 +52,8 @@ public class TimePoint {
      * @return A new TimePoint instance.
      */
     public static TimePoint from(LocalDateTime localDateTime) {
-        return new TimePoint(Objects.requireNonNull(localDateTime), null);
+        Objects.requireNonNull(localDateTime);
+        return new TimePoint(localDateTime.toEpochSecond(ZoneOffset.UTC), localDateTime.getNano(), null, null);
     }
 
     /**
@@ -39,7 +63,23 @@ public class TimePoint {
      * @return A new TimePoint instance.
      */
     public static TimePoint from(ZonedDateTime zonedDateTime) {
-        return new TimePoint(null, Objects.requireNonNull(zonedDateTime));
+        Objects.requireNonNull(zonedDateTime);
+        return new TimePoint(zonedDateTime.toEpochSecond(), zonedDateTime.getNano(), zonedDateTime.getOffset(),
+                zonedDateTime.getZone());
+    }
+
+    /**
+     * Creates a local TimePoint at the start of the given epoch day.
+     * 
+     * @param epochDay The days since 1970-01-01.
+     * @return A new TimePoint instance at midnight of that day.
+     */
+    public static TimePoint ofEpochDay(long epochDay) {
+        long epochSecond = Math.multiplyExact(epochDay, SECONDS_PER_DAY);
+        if (epochSecond < MINIMUM_LOCAL_EPOCH_SECOND || epochSecond > MAXIMUM_LOCAL_EPOCH_SECOND) {
+            throw new DateTimeException("Epoch day out of range: " + epochDay);
+        }
+        return new TimePoint(epochSecond, 0, null, null);
     }
 
     /**
@@ -78,7 +118,7 @@ public class TimePoint {
      * @return true if zoned, false if local.
      */
     public boolean isZoned() {
-        return zonedDateTime != null;
+        return zone != null;
     }
 
     /**
@@ -88,7 +128,7 @@ public class TimePoint {
      * @return The local date time representation.
      */
     public LocalDateTime toLocalDateTime() {
-        return isZoned() ? zonedDateTime.toLocalDateTime() : localDateTime;
+        return LocalDateTime.ofEpochSecond(localEpochSecond(), nano, ZoneOffset.UTC);
     }
 
     /**
@@ -101,9 +141,9 @@ public class TimePoint {
      */
     public ZonedDateTime toZonedDateTime(ZoneId zoneId) {
         if (isZoned()) {
-            return zonedDateTime;
+            return ZonedDateTime.ofInstant(toLocalDateTime(), offset, zone);
         }
-        return localDateTime.atZone(zoneId);
+        return toLocalDateTime().atZone(zoneId);
     }
 
     /**
@@ -115,18 +155,75 @@ public class TimePoint {
         return toZonedDateTime(ZoneId.systemDefault());
     }
 
+    /**
+     * Returns the nano-of-second of this point.
+     * 
+     * @return The nano-of-second, from 0 to 999,999,999.
+     */
+    public int getNano() {
+        return nano;
+    }
+
+    /**
+     * Returns the zone of this point.
+     * 
+     * @return The zone, or null for a local point.
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Returns the seconds since 1970-01-01T00:00:00. Zoned points count to their instant;
+     * local points count as if their local date time were in UTC.
+     * 
+     * @return The epoch second.
+     */
+    public long toEpochSecond() {
+        return epochSecond;
+    }
+
+    /**
+     * Returns the milliseconds since 1970-01-01T00:00:00, on the same basis as {@link #toEpochSecond()}.
+     * 
+     * @return The epoch millisecond.
+     */
+    public long toEpochMilli() {
+        return Math.addExact(Math.multiplyExact(epochSecond, 1_000L), nano / 1_000_000);
+    }
+
+    /**
+     * Returns the days since 1970-01-01 of the local date of this point.
+     * 
+     * @return The epoch day.
+     */
+    public long toEpochDay() {
+        return Math.floorDiv(localEpochSecond(), SECONDS_PER_DAY);
+    }
+
     /**
      * Returns a new TimePoint with the specified amount added.
+     * Local points add fixed-length units (up to weeks) and zoned points add time-based
+     * units directly to the stored epoch value; anything else goes through java.time.
      * 
      * @param amountToAdd The amount of the unit to add.
      * @param unit The unit of the amount.
      * @return A new TimePoint with the addition applied.
      */
     public TimePoint plus(long amountToAdd, TemporalUnit unit) {
+        if (unit instanceof ChronoUnit) {
+            ChronoUnit chronoUnit = (ChronoUnit) unit;
+            if (!isZoned() && chronoUnit.compareTo(ChronoUnit.WEEKS) <= 0) {
+                return plusFixedLength(amountToAdd, chronoUnit.getDuration(), null);
+            }
+            if (isZoned() && chronoUnit.isTimeBased()) {
+                return plusFixedLength(amountToAdd, chronoUnit.getDuration(), null);
+            }
+        }
         if (isZoned()) {
-            return from(zonedDateTime.plus(amountToAdd, unit));
+            return from(toZonedDateTime().plus(amountToAdd, unit));
         }
-        return from(localDateTime.plus(amountToAdd, unit));
+        return from(toLocalDateTime().plus(amountToAdd, unit));
     }
 
     /**
@@ -137,10 +234,140 @@ public class TimePoint {
      * @return A new TimePoint with the subtraction applied.
      */
     public TimePoint minus(long amountToSubtract, TemporalUnit unit) {
+        return (amountToSubtract == Long.MIN_VALUE) ? plus(Long.MAX_VALUE, unit).plus(1, unit) : plus(-amountToSubtract, unit);
+    }
+
+    /**
+     * Returns a new TimePoint with the specified amount added, resolving zoned offsets from the
+     * given table instead of the zone rules. Time-based units move the instant and look its
+     * offset up; date-based units move the local date time and resolve it the way
+     * {@link ZonedDateTime#plus(long, TemporalUnit)} does, keeping the current offset in an
+     * overlap. Local points, other zones and points outside the window of the table are
+     * handled as in {@link #plus(long, TemporalUnit)}.
+     * 
+     * @param amountToAdd The amount of the unit to add.
+     * @param unit The unit of the amount.
+     * @param transitions The transitions of the zone of this point, or null.
+     * @return A new TimePoint with the addition applied.
+     */
+    public TimePoint plus(long amountToAdd, TemporalUnit unit, ZoneTransitionTable transitions) {
+        if (!isZoned() || transitions == null || !(unit instanceof ChronoUnit) || !zone.equals(transitions.getZone())) {
+            return plus(amountToAdd, unit);
+        }
+        ChronoUnit chronoUnit = (ChronoUnit) unit;
+        if (chronoUnit.isTimeBased()) {
+            return plusFixedLength(amountToAdd, chronoUnit.getDuration(), transitions);
+        }
+        long localSecond;
+        if (chronoUnit == ChronoUnit.DAYS || chronoUnit == ChronoUnit.WEEKS) {
+            localSecond = Math.addExact(localEpochSecond(), Math.multiplyExact(amountToAdd, chronoUnit.getDuration().getSeconds()));
+        } else if (chronoUnit.isDateBased()) {
+            localSecond = toLocalDateTime().plus(amountToAdd, unit).toEpochSecond(ZoneOffset.UTC);
+        } else {
+            return plus(amountToAdd, unit);
+        }
+        if (!transitions.coversLocal(localSecond)) {
+            return plus(amountToAdd, unit);
+        }
+        checkLocalRange(localSecond);
+        long resultSecond = transitions.resolveLocal(localSecond, offset);
+        return new TimePoint(resultSecond, nano, transitions.offsetAt(resultSecond), zone);
+    }
+
+    /**
+     * Returns a new TimePoint with the specified amount subtracted, resolving zoned offsets
+     * from the given table as {@link #plus(long, TemporalUnit, ZoneTransitionTable)} does.
+     * 
+     * @param amountToSubtract The amount of the unit to subtract.
+     * @param unit The unit of the amount.
+     * @param transitions The transitions of the zone of this point, or null.
+     * @return A new TimePoint with the subtraction applied.
+     */
+    public TimePoint minus(long amountToSubtract, TemporalUnit unit, ZoneTransitionTable transitions) {
+        return (amountToSubtract == Long.MIN_VALUE) ? plus(Long.MAX_VALUE, unit, transitions).plus(1, unit, transitions)
+                : plus(-amountToSubtract, unit, transitions);
+    }
+
+    /**
+     * Returns the local date time of this point in the zone of the given table, resolved the
+     * way {@link ZonedDateTime#ofLocal} resolves it: moved forward by the length of a gap, and
+     * in an overlap at the current offset of a zoned point, the earlier offset otherwise.
+     * Outside the window of the table the zone rules are used.
+     * 
+     * @param transitions The transitions of the zone to place the point in.
+     * @return A new zoned TimePoint with the same local date time where it exists.
+     */
+    public TimePoint atZone(ZoneTransitionTable transitions) {
+        long localSecond = localEpochSecond();
+        if (!transitions.coversLocal(localSecond)) {
+            return from(ZonedDateTime.ofLocal(toLocalDateTime(), transitions.getZone(), offset));
+        }
+        long resultSecond = transitions.resolveLocal(localSecond, offset);
+        return new TimePoint(resultSecond, nano, transitions.offsetAt(resultSecond), transitions.getZone());
+    }
+
+    /**
+     * Returns a new TimePoint adjusted by the given rule, such as one of
+     * {@link java.time.temporal.TemporalAdjusters}. Zoned points are adjusted on their
+     * local date time and keep their zone.
+     * 
+     * @param adjuster The rule to apply.
+     * @return A new TimePoint with the adjustment applied.
+     */
+    public TimePoint with(TemporalAdjuster adjuster) {
         if (isZoned()) {
-            return from(zonedDateTime.minus(amountToSubtract, unit));
+            return from(toZonedDateTime().with(adjuster));
+        }
+        return from(toLocalDateTime().with(adjuster));
+    }
+
+    private TimePoint plusFixedLength(long amount, Duration unitDuration, ZoneTransitionTable transitions) {
+        if (amount == 0) {
+            return this;
+        }
+        long seconds = Math.multiplyExact(amount, unitDuration.getSeconds());
+        long nanos = nano;
+        if (unitDuration.getNano() != 0) {
+            // Only the sub-second units have a nano part, and it always divides a second evenly
+            long unitsPerSecond = NANOS_PER_SECOND / unitDuration.getNano();
+            seconds = Math.addExact(seconds, Math.floorDiv(amount, unitsPerSecond));
+            nanos += Math.floorMod(amount, unitsPerSecond) * unitDuration.getNano();
+        }
+        long resultSecond = Math.addExact(Math.addExact(epochSecond, seconds), nanos / NANOS_PER_SECOND);
+        int resultNano = (int) (nanos % NANOS_PER_SECOND);
+        if (!isZoned()) {
+            checkLocalRange(resultSecond);
+            return new TimePoint(resultSecond, resultNano, null, null);
+        }
+        ZoneOffset resultOffset = (transitions == null) ? null : transitions.offsetAt(resultSecond);
+        if (resultOffset == null) {
+            resultOffset = zone.getRules().getOffset(Instant.ofEpochSecond(resultSecond));
+        }
+        checkLocalRange(resultSecond + resultOffset.getTotalSeconds());
+        return new TimePoint(resultSecond, resultNano, resultOffset, zone);
+    }
+
+    private static void checkLocalRange(long localEpochSecond) {
+        if (localEpochSecond < MINIMUM_LOCAL_EPOCH_SECOND || localEpochSecond > MAXIMUM_LOCAL_EPOCH_SECOND) {
+            throw new DateTimeException("Invalid value for EpochSecond (valid values "
+                    + MINIMUM_LOCAL_EPOCH_SECOND + " - " + MAXIMUM_LOCAL_EPOCH_SECOND + "): " + localEpochSecond);
         }
-        return from(localDateTime.minus(amountToSubtract, unit));
+    }
+
+    private long localEpochSecond() {
+        return isZoned() ? epochSecond + offset.getTotalSeconds() : epochSecond;
+    }
+
+    /**
+     * Compares this point with another on the same basis as {@link #isBefore(TimePoint)}:
+     * the instant when both are zoned, the local date time otherwise.
+     */
+    private int compareTo(TimePoint other) {
+        boolean byInstant = isZoned() && other.isZoned();
+        long thisSecond = byInstant ? epochSecond : localEpochSecond();
+        long otherSecond = byInstant ? other.epochSecond : other.localEpochSecond();
+        int result = Long.compare(thisSecond, otherSecond);
+        return (result != 0) ? result : Integer.compare(nano, other.nano);
     }
 
     /**
@@ -150,11 +377,8 @@ public class TimePoint {
      * @return true if this is strictly after the other point.
      */
     public boolean isAfter(TimePoint other) {
-        if (isZoned() && other.isZoned()) {
-            return zonedDateTime.isAfter(other.zonedDateTime);
-        }
-        // Fallback to local comparison if either is not zoned, or compare local parts
-        return toLocalDateTime().isAfter(other.toLocalDateTime());
+        // Zoned points compare instants; if either is not zoned the local parts are compared
+        return compareTo(other) > 0;
     }
 
     /**
@@ -164,11 +388,8 @@ public class TimePoint {
      * @return true if this is strictly before the other point.
      */
     public boolean isBefore(TimePoint other) {
-        if (isZoned() && other.isZoned()) {
-            return zonedDateTime.isBefore(other.zonedDateTime);
-        }
-        // Fallback to local comparison if either is not zoned, or compare local parts
-        return toLocalDateTime().isBefore(other.toLocalDateTime());
+        // Zoned points compare instants; if either is not zoned the local parts are compared
+        return compareTo(other) < 0;
     }
 
     /**
@@ -177,10 +398,8 @@ public class TimePoint {
      * @return The DayOfWeek enum value.
      */
     public DayOfWeek getDayOfWeek() {
-        if (isZoned()) {
-            return zonedDateTime.getDayOfWeek();
-        }
-        return localDateTime.getDayOfWeek();
+        // Epoch day 0 (1970-01-01) was a Thursday
+        return DayOfWeek.of((int) Math.floorMod(toEpochDay() + 3, 7L) + 1);
     }
 
     @Override
@@ -188,18 +407,18 @@ public class TimePoint {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         TimePoint timePoint = (TimePoint) o;
-        return Objects.equals(localDateTime, timePoint.localDateTime) &&
-                Objects.equals(zonedDateTime, timePoint.zonedDateTime);
+        return epochSecond == timePoint.epochSecond && nano == timePoint.nano
+                && Objects.equals(offset, timePoint.offset) && Objects.equals(zone, timePoint.zone);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(localDateTime, zonedDateTime);
+        return (Long.hashCode(epochSecond) * 31 + nano) * 31 + Objects.hashCode(zone);
     }
 
     @Override
     public String toString() {
-        return isZoned() ? zonedDateTime.toString() : localDateTime.toString();
+        return isZoned() ? toZonedDateTime().toString() : toLocalDateTime().toString();
     }
 
     /**
@@ -0,0 +1,193 @@
+package com.pracht.timeiterator.model;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * ZoneTransitionTable holds the offset transitions of a zone over a window of instants, so
+ * zoned arithmetic can look offsets up in two sorted arrays instead of asking the
+ * {@link ZoneRules} on every step. Local date times are resolved the way
+ * {@link java.time.ZonedDateTime} resolves them: a local time in a gap moves forward by the
+ * length of the gap, and a local time in an overlap keeps the preferred offset when it is one
+ * of the two, the earlier offset otherwise.
+ * <p>
+ * Outside its window the table answers null and callers fall back to the zone rules. A table is
+ * immutable and can be shared between threads.
+ */
+public final class ZoneTransitionTable {
+
+    /** The largest distance of any offset from UTC, 18 hours. */
+    private static final long MAXIMUM_OFFSET_SECONDS = 18 * 3_600L;
+
+    private final ZoneId zone;
+
+    private final long fromEpochSecond;
+
+    private final long toEpochSecond;
+
+    /** The instants of the transitions inside the window, ascending. */
+    private final long[] transitionEpochSeconds;
+
+    /** The offset in effect before each transition, with the offset after the last one at the end. */
+    private final ZoneOffset[] offsets;
+
+    /** Per transition, the first local epoch second of the gap or overlap around it. */
+    private final long[] localStarts;
+
+    /** Per transition, the local epoch second just past the gap or overlap around it. */
+    private final long[] localEnds;
+
+    private ZoneTransitionTable(ZoneId zone, long fromEpochSecond, long toEpochSecond, List<ZoneOffsetTransition> transitions,
+            ZoneOffset firstOffset) {
+        this.zone = zone;
+        this.fromEpochSecond = fromEpochSecond;
+        this.toEpochSecond = toEpochSecond;
+        int count = transitions.size();
+        this.transitionEpochSeconds = new long[count];
+        this.offsets = new ZoneOffset[count + 1];
+        this.localStarts = new long[count];
+        this.localEnds = new long[count];
+        offsets[0] = firstOffset;
+        for (int i = 0; i < count; i++) {
+            ZoneOffsetTransition transition = transitions.get(i);
+            long instant = transition.toEpochSecond();
+            int before = transition.getOffsetBefore().getTotalSeconds();
+            int after = transition.getOffsetAfter().getTotalSeconds();
+            transitionEpochSeconds[i] = instant;
+            offsets[i + 1] = transition.getOffsetAfter();
+            localStarts[i] = instant + Math.min(before, after);
+            localEnds[i] = instant + Math.max(before, after);
+        }
+    }
+
+    private ZoneTransitionTable(ZoneId zone, ZoneTransitionTable shared) {
+        this.zone = zone;
+        this.fromEpochSecond = shared.fromEpochSecond;
+        this.toEpochSecond = shared.toEpochSecond;
+        this.transitionEpochSeconds = shared.transitionEpochSeconds;
+        this.offsets = shared.offsets;
+        this.localStarts = shared.localStarts;
+        this.localEnds = shared.localEnds;
+    }
+
+    /**
+     * Builds the table of a zone for the instants from fromEpochSecond up to toEpochSecond.
+     * A zone with a fixed offset covers every instant.
+     *
+     * @param zone The zone to take the transitions of.
+     * @param fromEpochSecond The first instant covered, in seconds since the epoch.
+     * @param toEpochSecond The instant just past the window, in seconds since the epoch.
+     * @return A new ZoneTransitionTable.
+     */
+    public static ZoneTransitionTable of(ZoneId zone, long fromEpochSecond, long toEpochSecond) {
+        Objects.requireNonNull(zone, "zone");
+        ZoneRules rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            return new ZoneTransitionTable(zone, Long.MIN_VALUE, Long.MAX_VALUE, List.of(), rules.getOffset(Instant.EPOCH));
+        }
+        Instant from = Instant.ofEpochSecond(fromEpochSecond);
+        List<ZoneOffsetTransition> transitions = new ArrayList<>();
+        ZoneOffsetTransition transition = rules.nextTransition(from);
+        while (transition != null && transition.toEpochSecond() < toEpochSecond) {
+            transitions.add(transition);
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        return new ZoneTransitionTable(zone, fromEpochSecond, toEpochSecond, transitions, rules.getOffset(from));
+    }
+
+    /**
+     * Returns a table for another zone with the same rules, such as an alias of this zone,
+     * sharing the transitions of this one.
+     *
+     * @param otherZone The zone the new table answers for.
+     * @return A table for the other zone, or this table for the same zone.
+     * @throws IllegalArgumentException if the rules of the zones differ.
+     */
+    public ZoneTransitionTable withZone(ZoneId otherZone) {
+        if (zone.equals(otherZone)) {
+            return this;
+        }
+        if (!zone.getRules().equals(otherZone.getRules())) {
+            throw new IllegalArgumentException(otherZone + " does not follow the rules of " + zone);
+        }
+        return new ZoneTransitionTable(otherZone, this);
+    }
+
+    /**
+     * Returns the zone of the table.
+     *
+     * @return The zone.
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Returns the number of transitions inside the window.
+     *
+     * @return The transition count.
+     */
+    public int size() {
+        return transitionEpochSeconds.length;
+    }
+
+    /**
+     * Returns the offset in effect at an instant.
+     *
+     * @param epochSecond The instant, in seconds since the epoch.
+     * @return The offset, or null if the instant is outside the window.
+     */
+    public ZoneOffset offsetAt(long epochSecond) {
+        if (epochSecond < fromEpochSecond || epochSecond >= toEpochSecond) {
+            return null;
+        }
+        int index = Arrays.binarySearch(transitionEpochSeconds, epochSecond);
+        // The offset after a transition applies from its instant on
+        return offsets[(index >= 0) ? index + 1 : -index - 1];
+    }
+
+    /**
+     * Checks whether a local date time lies far enough inside the window to be resolved,
+     * whatever its offset.
+     *
+     * @param localEpochSecond The local date time, in seconds since the epoch as if it were UTC.
+     * @return true if the table can resolve the local date time.
+     */
+    public boolean coversLocal(long localEpochSecond) {
+        return localEpochSecond - MAXIMUM_OFFSET_SECONDS >= fromEpochSecond
+                && localEpochSecond + MAXIMUM_OFFSET_SECONDS < toEpochSecond;
+    }
+
+    /**
+     * Returns the instant a local date time resolves to, as {@link java.time.ZonedDateTime#ofLocal}
+     * would choose it. The offset at that instant is the resolved offset.
+     *
+     * @param localEpochSecond The local date time, in seconds since the epoch as if it were UTC.
+     * @param preferredOffset The offset to keep in an overlap, or null.
+     * @return The instant, in seconds since the epoch.
+     */
+    long resolveLocal(long localEpochSecond, ZoneOffset preferredOffset) {
+        int index = lastStartAtOrBefore(localEpochSecond);
+        if (index < 0 || localEpochSecond >= localEnds[index]) {
+            return localEpochSecond - offsets[index + 1].getTotalSeconds();
+        }
+        ZoneOffset before = offsets[index];
+        ZoneOffset after = offsets[index + 1];
+        // In a gap the local time moves forward by the length of the gap, which lands on the
+        // same instant as reading it with the offset before the gap
+        boolean keepAfter = after.getTotalSeconds() < before.getTotalSeconds() && after.equals(preferredOffset);
+        return localEpochSecond - (keepAfter ? after : before).getTotalSeconds();
+    }
+
+    private int lastStartAtOrBefore(long localEpochSecond) {
+        int index = Arrays.binarySearch(localStarts, localEpochSecond);
+        return (index >= 0) ? index : -index - 2;
+    }
+}
@@ -0,0 +1,92 @@
+package com.pracht.timeiterator.scheduler;
+
+import java.util.function.Consumer;
+
+import com.pracht.timeiterator.TimePointSequence;
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * ScheduledSequence is the registration of a {@link TimePointSequence} with a
+ * {@link TimingWheelScheduler}. It is also the timer entry itself: it sits in one slot of the
+ * wheel at a time, linked to its neighbours, so it can be moved or cancelled in O(1).
+ *
+ * @author bpracht
+ */
+public final class ScheduledSequence {
+	private final TimingWheelScheduler scheduler;
+
+	private final TimePointSequence sequence;
+
+	private final Consumer<TimePoint> action;
+
+	private TimePoint nextFirePoint;
+
+	long deadlineTick;
+
+	int level = -1;
+
+	int slot;
+
+	ScheduledSequence previous;
+
+	ScheduledSequence next;
+
+	boolean cancelled;
+
+	ScheduledSequence(TimingWheelScheduler scheduler, TimePointSequence sequence, Consumer<TimePoint> action) {
+		this.scheduler = scheduler;
+		this.sequence = sequence;
+		this.action = action;
+	}
+
+	/**
+	 * Returns the sequence this registration fires from. It is advanced by the scheduler and
+	 * should not be advanced elsewhere while it is registered.
+	 *
+	 * @return The scheduled sequence.
+	 */
+	public TimePointSequence getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Returns the point the sequence fires at next.
+	 *
+	 * @return The next fire point, or null once the sequence has ended or was cancelled.
+	 */
+	public TimePoint getNextFirePoint() {
+		synchronized (scheduler) {
+			return nextFirePoint;
+		}
+	}
+
+	/**
+	 * Returns true if the registration was cancelled or its sequence has ended.
+	 *
+	 * @return true when the sequence will not fire again.
+	 */
+	public boolean isDone() {
+		synchronized (scheduler) {
+			return cancelled || nextFirePoint == null;
+		}
+	}
+
+	/**
+	 * Removes the sequence from the scheduler. It does not fire again.
+	 */
+	public void cancel() {
+		scheduler.cancel(this);
+	}
+
+	Consumer<TimePoint> getAction() {
+		return action;
+	}
+
+	void setNextFirePoint(TimePoint nextFirePoint) {
+		this.nextFirePoint = nextFirePoint;
+	}
+
+	TimePoint nextFirePoint() {
+		return nextFirePoint;
+	}
+}
@@ -0,0 +1,218 @@
+package com.pracht.timeiterator.scheduler;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.pracht.timeiterator.TimePointIteratorDefinition;
+import com.pracht.timeiterator.TimePointSequenceDefinition;
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * TimePointPublisher offers the points of a sequence or iterator as a {@link Flow.Publisher}.
+ * Points are generated only as subscribers request them, one at a time, so a subscriber looking
+ * far ahead costs no more memory than one looking at the next point.
+ * <p>
+ * A publisher over a definition is cold: every subscriber iterates its own cursor from the
+ * beginning. A publisher over an existing sequence or iterator advances it, so it accepts a
+ * single subscriber. Without a clock, points are emitted on the thread that requests them. In
+ * real time, see {@link #inRealTime}, each point is held back until the clock reaches it and is
+ * then emitted from the given scheduled executor.
+ *
+ * @author bpracht
+ */
+public final class TimePointPublisher implements Flow.Publisher<TimePoint> {
+	private final Supplier<Iterator<TimePoint>> cursors;
+
+	private final boolean singleUse;
+
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	private final Clock clock;
+
+	private final ScheduledExecutorService timer;
+
+	private TimePointPublisher(Supplier<Iterator<TimePoint>> cursors, boolean singleUse, Clock clock,
+			ScheduledExecutorService timer) {
+		this.cursors = cursors;
+		this.singleUse = singleUse;
+		this.clock = clock;
+		this.timer = timer;
+	}
+
+	/**
+	 * Creates a publisher that advances the given sequence or iterator as points are requested.
+	 * Only one subscriber is accepted.
+	 *
+	 * @param points The TimePointSequence or TimePointIterator to publish.
+	 * @return A new TimePointPublisher.
+	 */
+	public static TimePointPublisher of(Iterator<TimePoint> points) {
+		Objects.requireNonNull(points, "points");
+		return new TimePointPublisher(() -> points, true, null, null);
+	}
+
+	/**
+	 * Creates a publisher that gives every subscriber its own cursor over the definition.
+	 *
+	 * @param definition The sequence definition to publish.
+	 * @return A new TimePointPublisher.
+	 */
+	public static TimePointPublisher of(TimePointSequenceDefinition definition) {
+		return new TimePointPublisher(definition::cursor, false, null, null);
+	}
+
+	/**
+	 * Creates a publisher that gives every subscriber its own iterator over the definition.
+	 *
+	 * @param definition The iterator definition to publish.
+	 * @return A new TimePointPublisher.
+	 */
+	public static TimePointPublisher of(TimePointIteratorDefinition definition) {
+		return new TimePointPublisher(definition::cursor, false, null, null);
+	}
+
+	/**
+	 * Returns a publisher over the same points that emits each point only once the clock has
+	 * reached it. Points already passed are emitted as soon as they are requested. Local points
+	 * are placed in the zone of the clock.
+	 *
+	 * @param clock The clock to compare the points against.
+	 * @param timer Runs the delayed emissions; it is not shut down by the publisher.
+	 * @return A new TimePointPublisher.
+	 */
+	public TimePointPublisher inRealTime(Clock clock, ScheduledExecutorService timer) {
+		return new TimePointPublisher(cursors, singleUse, Objects.requireNonNull(clock, "clock"),
+				Objects.requireNonNull(timer, "timer"));
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super TimePoint> subscriber) {
+		Objects.requireNonNull(subscriber, "subscriber");
+		if (singleUse && !subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+			});
+			subscriber.onError(new IllegalStateException("the points of this publisher can be subscribed to only once"));
+			return;
+		}
+		PointSubscription subscription = new PointSubscription(subscriber, cursors.get());
+		subscriber.onSubscribe(subscription);
+		subscription.drain();
+	}
+
+	/**
+	 * Emits points while there is demand. Calls to {@link #drain()} from request, the timer and
+	 * reentrant calls from onNext are serialized through the work counter: only the first runs
+	 * the loop, the others make it loop once more.
+	 */
+	private final class PointSubscription implements Flow.Subscription {
+		private final Flow.Subscriber<? super TimePoint> subscriber;
+
+		private final Iterator<TimePoint> points;
+
+		private final AtomicLong demand = new AtomicLong();
+
+		private final AtomicInteger work = new AtomicInteger();
+
+		private volatile boolean cancelled;
+
+		private volatile ScheduledFuture<?> wakeUp;
+
+		private TimePoint pending;
+
+		private Throwable invalidRequest;
+
+		private PointSubscription(Flow.Subscriber<? super TimePoint> subscriber, Iterator<TimePoint> points) {
+			this.subscriber = subscriber;
+			this.points = points;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("request must be positive: " + n);
+			} else {
+				demand.accumulateAndGet(n, (current, added) -> (current + added < 0) ? Long.MAX_VALUE : current + added);
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			ScheduledFuture<?> scheduled = wakeUp;
+			if (scheduled != null) {
+				scheduled.cancel(false);
+			}
+		}
+
+		private void drain() {
+			if (work.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				try {
+					emit();
+				} catch (RuntimeException e) {
+					cancel();
+					subscriber.onError(e);
+				}
+				missed = work.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void emit() {
+			while (!cancelled) {
+				if (invalidRequest != null) {
+					cancel();
+					subscriber.onError(invalidRequest);
+					return;
+				}
+				if (pending == null && !points.hasNext()) {
+					cancel();
+					subscriber.onComplete();
+					return;
+				}
+				if (demand.get() == 0) {
+					return;
+				}
+				if (pending == null) {
+					pending = points.next();
+				}
+				if (clock != null) {
+					long delay = pending.toZonedDateTime(clock.getZone()).toInstant().toEpochMilli() - clock.millis();
+					if (delay > 0) {
+						ScheduledFuture<?> previous = wakeUp;
+						if (previous != null) {
+							previous.cancel(false);
+						}
+						wakeUp = timer.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+						return;
+					}
+				}
+				TimePoint point = pending;
+				pending = null;
+				if (demand.get() != Long.MAX_VALUE) {
+					demand.decrementAndGet();
+				}
+				subscriber.onNext(point);
+			}
+		}
+	}
+}
@@ -0,0 +1,279 @@
+package com.pracht.timeiterator.scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+import com.pracht.timeiterator.TimePointSequence;
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * TimingWheelScheduler fires the points of many {@link TimePointSequence}s as a clock passes them.
+ * Each registered sequence is one timer keyed on its next point, kept in a hierarchical timing
+ * wheel: {@value #LEVELS} levels of {@value #SLOTS} slots, where a slot on level L spans
+ * 64<sup>L</sup> ticks. A timer goes on the lowest level whose slot tells it apart from the
+ * current tick, so inserting and cancelling are O(1). When the clock reaches a slot on a higher
+ * level, its timers cascade down to the lower levels, each timer at most once per level.
+ * Occupied slots are tracked in a bitmask per level, so advancing over a quiet stretch jumps
+ * straight to the next occupied slot instead of stepping through every tick.
+ * <p>
+ * When a timer expires the sequence is advanced with {@link TimePointSequence#next()}, the action
+ * is called with the point, and the sequence is inserted again at its following point. Points
+ * already passed when a sequence is registered or rescheduled fire on the next {@link #advance()},
+ * one after the other until the sequence catches up with the clock.
+ * <p>
+ * Nothing runs on its own: {@link #advance()} fires what the clock has passed, which lets tests
+ * drive the scheduler with a fixed or hand-moved {@link Clock}. The methods are synchronized;
+ * actions run on the thread calling advance and should hand longer work elsewhere.
+ *
+ * @author bpracht
+ */
+public final class TimingWheelScheduler {
+	private static final int SLOT_BITS = 6;
+
+	/** The number of slots on each level. */
+	public static final int SLOTS = 1 << SLOT_BITS;
+
+	/** The number of levels, enough for any tick count. */
+	public static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+	private final Clock clock;
+
+	private final long tickMillis;
+
+	private final ScheduledSequence[][] heads = new ScheduledSequence[LEVELS][SLOTS];
+
+	private final ScheduledSequence[][] tails = new ScheduledSequence[LEVELS][SLOTS];
+
+	private final long[] occupied = new long[LEVELS];
+
+	private final ArrayDeque<ScheduledSequence> due = new ArrayDeque<>();
+
+	private long currentTick;
+
+	private int size;
+
+	private TimingWheelScheduler(Clock clock, Duration tick) {
+		if (tick.toMillis() < 1) {
+			throw new IllegalArgumentException("tick must be at least one millisecond: " + tick);
+		}
+		this.clock = clock;
+		this.tickMillis = tick.toMillis();
+		this.currentTick = Math.floorDiv(clock.millis(), tickMillis);
+	}
+
+	/**
+	 * Creates a scheduler reading the given clock. Points fire on the first tick at or after them,
+	 * so the tick is the resolution of the scheduler. Local points are placed in the zone of the clock.
+	 *
+	 * @param clock The clock that decides which points have passed.
+	 * @param tick The length of one tick, at least one millisecond.
+	 * @return A new TimingWheelScheduler.
+	 * @throws IllegalArgumentException if the tick is shorter than a millisecond.
+	 */
+	public static TimingWheelScheduler of(Clock clock, Duration tick) {
+		return new TimingWheelScheduler(clock, tick);
+	}
+
+	/**
+	 * Registers a sequence to fire from its next point on. The sequence is advanced by the
+	 * scheduler as its points fire.
+	 *
+	 * @param sequence An incrementing sequence.
+	 * @param action Called with every point of the sequence as it fires.
+	 * @return The registration, which can be cancelled.
+	 * @throws IllegalArgumentException if the sequence is decrementing.
+	 */
+	public synchronized ScheduledSequence register(TimePointSequence sequence, Consumer<TimePoint> action) {
+		if (!sequence.getIncrementing()) {
+			throw new IllegalArgumentException("only incrementing sequences can be scheduled");
+		}
+		ScheduledSequence scheduled = new ScheduledSequence(this, sequence, action);
+		TimePoint firstPoint = sequence.peekNext();
+		if (firstPoint != null) {
+			size++;
+		}
+		schedule(scheduled, firstPoint);
+		return scheduled;
+	}
+
+	/**
+	 * Fires every point the clock has reached since the last call, in the order of their ticks.
+	 * If an action throws, the exception propagates; the sequence that threw is rescheduled and
+	 * the timers not fired yet stay due for the next call.
+	 *
+	 * @return The number of points fired.
+	 */
+	public synchronized int advance() {
+		long targetTick = Math.floorDiv(clock.millis(), tickMillis);
+		int fired = fireDue();
+		for (int level = nextEventLevel(); level >= 0 && eventTick(level) <= targetTick; level = nextEventLevel()) {
+			currentTick = eventTick(level);
+			int slot = (int) (currentTick >>> (level * SLOT_BITS)) & (SLOTS - 1);
+			ScheduledSequence scheduled = heads[level][slot];
+			heads[level][slot] = null;
+			tails[level][slot] = null;
+			occupied[level] &= ~(1L << slot);
+			while (scheduled != null) {
+				ScheduledSequence following = scheduled.next;
+				scheduled.previous = null;
+				scheduled.next = null;
+				insert(scheduled);
+				scheduled = following;
+			}
+			fired += fireDue();
+		}
+		currentTick = Math.max(currentTick, targetTick);
+		return fired;
+	}
+
+	/**
+	 * Returns a time to call {@link #advance()} again: never after the earliest point still to
+	 * fire, though possibly before it when that point sits on a higher level of the wheel.
+	 *
+	 * @return The time to wake up at, or null if nothing is scheduled.
+	 */
+	public synchronized Instant nextWakeUp() {
+		if (due.stream().anyMatch(scheduled -> !scheduled.cancelled)) {
+			return clock.instant();
+		}
+		int level = nextEventLevel();
+		return (level < 0) ? null : Instant.ofEpochMilli(Math.multiplyExact(eventTick(level), tickMillis));
+	}
+
+	/**
+	 * Returns the number of registered sequences that will still fire.
+	 *
+	 * @return The number of scheduled sequences.
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the clock the scheduler reads.
+	 *
+	 * @return The clock.
+	 */
+	public Clock getClock() {
+		return clock;
+	}
+
+	synchronized void cancel(ScheduledSequence scheduled) {
+		if (scheduled.cancelled || scheduled.nextFirePoint() == null) {
+			return;
+		}
+		scheduled.cancelled = true;
+		scheduled.setNextFirePoint(null);
+		if (scheduled.level >= 0) {
+			unlink(scheduled);
+		}
+		size--;
+	}
+
+	private int fireDue() {
+		int fired = 0;
+		for (ScheduledSequence scheduled = due.poll(); scheduled != null; scheduled = due.poll()) {
+			if (scheduled.cancelled) {
+				continue;
+			}
+			TimePoint point = scheduled.getSequence().next();
+			fired++;
+			try {
+				scheduled.getAction().accept(point);
+			} finally {
+				// An action may cancel its own registration, which already took it out of the size
+				if (!scheduled.cancelled) {
+					TimePoint nextPoint = scheduled.getSequence().peekNext();
+					if (nextPoint == null) {
+						size--;
+					}
+					schedule(scheduled, nextPoint);
+				}
+			}
+		}
+		return fired;
+	}
+
+	private void schedule(ScheduledSequence scheduled, TimePoint point) {
+		scheduled.setNextFirePoint(point);
+		if (point == null) {
+			return;
+		}
+		long millis = point.toZonedDateTime(clock.getZone()).toInstant().toEpochMilli();
+		// Round up, so a point never fires before the clock reaches it
+		scheduled.deadlineTick = -Math.floorDiv(-millis, tickMillis);
+		insert(scheduled);
+	}
+
+	private void insert(ScheduledSequence scheduled) {
+		long deadlineTick = scheduled.deadlineTick;
+		if (deadlineTick <= currentTick) {
+			scheduled.level = -1;
+			due.add(scheduled);
+			return;
+		}
+		// The lowest level on which the deadline and the current tick fall in different slots
+		int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(deadlineTick ^ currentTick)) / SLOT_BITS;
+		int slot = (int) (deadlineTick >>> (level * SLOT_BITS)) & (SLOTS - 1);
+		scheduled.level = level;
+		scheduled.slot = slot;
+		ScheduledSequence tail = tails[level][slot];
+		scheduled.previous = tail;
+		if (tail == null) {
+			heads[level][slot] = scheduled;
+			occupied[level] |= 1L << slot;
+		} else {
+			tail.next = scheduled;
+		}
+		tails[level][slot] = scheduled;
+	}
+
+	private void unlink(ScheduledSequence scheduled) {
+		int level = scheduled.level;
+		int slot = scheduled.slot;
+		if (scheduled.previous == null) {
+			heads[level][slot] = scheduled.next;
+		} else {
+			scheduled.previous.next = scheduled.next;
+		}
+		if (scheduled.next == null) {
+			tails[level][slot] = scheduled.previous;
+		} else {
+			scheduled.next.previous = scheduled.previous;
+		}
+		if (heads[level][slot] == null) {
+			occupied[level] &= ~(1L << slot);
+		}
+		scheduled.previous = null;
+		scheduled.next = null;
+		scheduled.level = -1;
+	}
+
+	/**
+	 * Returns the level whose next occupied slot the clock reaches first, or -1 if the wheel is
+	 * empty. Every occupied slot lies ahead of the current tick on its level, and the slots of a
+	 * lower level are all reached before those of a higher one.
+	 */
+	private int nextEventLevel() {
+		for (int level = 0; level < LEVELS; level++) {
+			if (occupied[level] != 0) {
+				return level;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the first tick of the next occupied slot on the level.
+	 */
+	private long eventTick(int level) {
+		int shift = level * SLOT_BITS;
+		int currentSlot = (int) (currentTick >>> shift) & (SLOTS - 1);
+		int slot = Long.numberOfTrailingZeros(occupied[level] & (-2L << currentSlot));
+		long higherTicks = (shift + SLOT_BITS >= Long.SIZE) ? 0 : (currentTick >>> (shift + SLOT_BITS)) << (shift + SLOT_BITS);
+		return higherTicks | ((long) slot << shift);
+	}
+}
@@ -0,0 +1,240 @@
+package com.pracht.timeiterator.scheduler;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.pracht.timeiterator.TimePointSequence;
+import com.pracht.timeiterator.model.TimePoint;
+
+/**
+ * TriggerExecutor runs the work triggered by fired points, such as the actions of a
+ * {@link TimingWheelScheduler}, off the thread that fires them. Each fire is dispatched on a
+ * virtual thread when the JDK has them (21 and later); on older JDKs it falls back to a pool of
+ * platform threads.
+ * <p>
+ * Work is grouped in lanes, one per scheduled sequence. A lane runs at most its concurrency
+ * limit of tasks at a time and keeps further fires in order until a task finishes. Waiting fires
+ * of all lanes share one burst queue; once it is full, further fires are rejected and counted
+ * instead of blocking the caller, so a burst never holds up the scheduler or the other lanes.
+ *
+ * @author bpracht
+ */
+public final class TriggerExecutor implements AutoCloseable {
+	/** The default number of fires that may wait for a free slot in their lane. */
+	public static final int DEFAULT_BURST_QUEUE_CAPACITY = 100_000;
+
+	private final ExecutorService executorService;
+
+	private final boolean virtual;
+
+	private final int burstQueueCapacity;
+
+	private final int concurrencyLimit;
+
+	private final AtomicInteger queuedCount = new AtomicInteger();
+
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	/**
+	 * Creates an executor.
+	 *
+	 * @param burstQueueCapacity The number of fires that may wait across all lanes, by default {@value #DEFAULT_BURST_QUEUE_CAPACITY}.
+	 * @param concurrencyLimit The default number of tasks a lane runs at once, by default 1.
+	 * @param platformThreads The size of the platform thread pool used without virtual threads,
+	 *        by default twice the number of processors.
+	 * @param executorService An executor to dispatch on instead of creating one; it is shut down on {@link #close()}.
+	 */
+	@lombok.Builder(builderClassName = "Builder")
+	private TriggerExecutor(Integer burstQueueCapacity, Integer concurrencyLimit, Integer platformThreads,
+			ExecutorService executorService) {
+		this.burstQueueCapacity = (burstQueueCapacity == null) ? DEFAULT_BURST_QUEUE_CAPACITY : burstQueueCapacity;
+		this.concurrencyLimit = (concurrencyLimit == null) ? 1 : concurrencyLimit;
+		if (this.burstQueueCapacity < 0) {
+			throw new IllegalArgumentException("burstQueueCapacity must not be negative");
+		}
+		if (this.concurrencyLimit < 1) {
+			throw new IllegalArgumentException("concurrencyLimit must be at least 1");
+		}
+		if (executorService != null) {
+			this.executorService = executorService;
+			this.virtual = false;
+		} else {
+			ExecutorService virtualThreads = newVirtualThreadExecutor();
+			this.virtual = virtualThreads != null;
+			this.executorService = virtual ? virtualThreads
+					: Executors.newFixedThreadPool((platformThreads == null) ? 2 * Runtime.getRuntime().availableProcessors()
+							: platformThreads, daemonThreads());
+		}
+	}
+
+	/**
+	 * Returns a consumer that runs the task for every point it is given, in a lane of its own
+	 * with the default concurrency limit.
+	 *
+	 * @param task The work to run for each fired point.
+	 * @return A consumer to hand fired points to.
+	 */
+	public Consumer<TimePoint> lane(Consumer<TimePoint> task) {
+		return lane(task, concurrencyLimit);
+	}
+
+	/**
+	 * Returns a consumer that runs the task for every point it is given, in a lane of its own.
+	 * It can serve as the action of a {@link TimingWheelScheduler}, or drain a
+	 * {@link com.pracht.timeiterator.TimePointIterator} with forEachRemaining.
+	 *
+	 * @param task The work to run for each fired point.
+	 * @param laneConcurrencyLimit The number of tasks the lane runs at once.
+	 * @return A consumer to hand fired points to.
+	 * @throws IllegalArgumentException if the limit is less than 1.
+	 */
+	public Consumer<TimePoint> lane(Consumer<TimePoint> task, int laneConcurrencyLimit) {
+		if (laneConcurrencyLimit < 1) {
+			throw new IllegalArgumentException("concurrencyLimit must be at least 1");
+		}
+		return new Lane(task, laneConcurrencyLimit);
+	}
+
+	/**
+	 * Registers the sequence with the scheduler so that its task runs on this executor, in a
+	 * lane of its own with the default concurrency limit.
+	 *
+	 * @param scheduler The scheduler that fires the points.
+	 * @param sequence The sequence to schedule.
+	 * @param task The work to run for each fired point.
+	 * @return The registration.
+	 */
+	public ScheduledSequence schedule(TimingWheelScheduler scheduler, TimePointSequence sequence, Consumer<TimePoint> task) {
+		return scheduler.register(sequence, lane(task));
+	}
+
+	/**
+	 * Returns true if fires are dispatched on virtual threads.
+	 *
+	 * @return true on JDK 21 and later, unless an executor was supplied.
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+
+	/**
+	 * Returns the number of fires waiting in the burst queue.
+	 *
+	 * @return The number of queued fires.
+	 */
+	public int getQueuedCount() {
+		return queuedCount.get();
+	}
+
+	/**
+	 * Returns the number of fires rejected because the burst queue was full.
+	 *
+	 * @return The number of rejected fires.
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	/**
+	 * Stops accepting fires and waits up to the timeout for running and queued tasks to finish.
+	 *
+	 * @param timeout The longest time to wait.
+	 * @param unit The unit of the timeout.
+	 * @return true if all tasks finished in time.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		// Queued fires are dispatched as earlier tasks finish, so wait for the queue before shutting down
+		while (queuedCount.get() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		executorService.shutdown();
+		return executorService.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void close() {
+		executorService.shutdownNow();
+	}
+
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static ThreadFactory daemonThreads() {
+		AtomicInteger threadCount = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "trigger-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * The fires of one sequence: at most limit tasks run at once and the rest wait in order.
+	 */
+	private final class Lane implements Consumer<TimePoint> {
+		private final Consumer<TimePoint> task;
+
+		private final int limit;
+
+		private final ArrayDeque<TimePoint> waiting = new ArrayDeque<>();
+
+		private int running;
+
+		private Lane(Consumer<TimePoint> task, int limit) {
+			this.task = task;
+			this.limit = limit;
+		}
+
+		@Override
+		public void accept(TimePoint point) {
+			synchronized (this) {
+				if (running >= limit) {
+					if (queuedCount.incrementAndGet() > burstQueueCapacity) {
+						queuedCount.decrementAndGet();
+						rejectedCount.incrementAndGet();
+					} else {
+						waiting.add(point);
+					}
+					return;
+				}
+				running++;
+			}
+			dispatch(point);
+		}
+
+		private void dispatch(TimePoint point) {
+			executorService.execute(() -> {
+				try {
+					task.accept(point);
+				} finally {
+					TimePoint nextPoint;
+					synchronized (this) {
+						nextPoint = waiting.poll();
+						if (nextPoint == null) {
+							running--;
+						}
+					}
+					if (nextPoint != null) {
+						queuedCount.decrementAndGet();
+						dispatch(nextPoint);
+					}
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.pracht.timeiterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pracht.timeiterator.model.TimePoint;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class BusinessDayCalculatorTest {
+
+    private static final HolidayCalendar HOLIDAYS = CommonSequences.US.HOLIDAY_CALENDAR(2020, 2030);
+
+    @Test
+    void testUSBusinessDays() {
+        BusinessDayCalculator calculator = CommonSequences.US.BUSINESS_DAY_CALCULATOR(2020, 2030);
+        TimePoint wednesdayBeforeThanksgiving = TimePoint.from(LocalDateTime.of(2024, 11, 27, 17, 0));
+
+        assertThat(calculator.nextBusinessDay(wednesdayBeforeThanksgiving))
+                .isEqualTo(TimePoint.from(LocalDateTime.of(2024, 11, 29, 17, 0)));
+        assertThat(calculator.addBusinessDays(wednesdayBeforeThanksgiving, 3))
+                .isEqualTo(TimePoint.from(LocalDateTime.of(2024, 12, 3, 17, 0)));
+        assertThat(calculator.previousBusinessDay(TimePoint.from(LocalDateTime.of(2024, 9, 3, 9, 0))))
+                .isEqualTo(TimePoint.from(LocalDateTime.of(2024, 8, 30, 9, 0)));
+        assertThat(calculator.isBusinessDay(TimePoint.from(LocalDateTime.of(2024, 7, 4, 0, 0)))).isFalse();
+        assertThat(calculator.isBusinessDay(TimePoint.from(LocalDateTime.of(2024, 7, 5, 0, 0)))).isTrue();
+        assertThat(calculator.businessDaysBetween(TimePoint.from(LocalDateTime.of(2024, 1, 1, 0, 0)),
+                TimePoint.from(LocalDateTime.of(2025, 1, 1, 0, 0)))).isEqualTo(262 - 12);
+    }
+
+    @Test
+    void testMatchesDayByDayCount() {
+        BusinessDayCalculator calculator = BusinessDayCalculator.withHolidays(HOLIDAYS);
+        TimePoint start = TimePoint.from(LocalDateTime.of(2019, 12, 1, 8, 0));
+        List<TimePoint> businessDays = new ArrayList<>();
+        for (TimePoint day = start; day.isBefore(TimePoint.from(LocalDateTime.of(2031, 2, 1, 0, 0)));
+                day = day.plus(1, ChronoUnit.DAYS)) {
+            if (isBusinessDay(day)) {
+                businessDays.add(day);
+            }
+        }
+
+        for (int i = 0; i < businessDays.size(); i += 37) {
+            TimePoint day = businessDays.get(i);
+            assertThat(calculator.isBusinessDay(day)).isTrue();
+            assertThat(calculator.businessDaysBetween(start, day)).isEqualTo(i);
+            assertThat(calculator.businessDaysBetween(day, start)).isEqualTo(-i);
+            for (int amount = 1; amount < 12 && i + amount < businessDays.size(); amount += 5) {
+                assertThat(calculator.addBusinessDays(day, amount)).isEqualTo(businessDays.get(i + amount));
+                assertThat(calculator.addBusinessDays(businessDays.get(i + amount), -amount)).isEqualTo(day);
+                // From the day after a business day, stepping back lands on it again
+                assertThat(calculator.addBusinessDays(day.plus(1, ChronoUnit.DAYS), -1)).isEqualTo(day);
+            }
+        }
+        assertThat(calculator.addBusinessDays(start, 0)).isSameAs(start);
+    }
+
+    @Test
+    void testWeekdaysOnlyAcrossLongDistances() {
+        BusinessDayCalculator calculator = BusinessDayCalculator.weekdays();
+        TimePoint saturday = TimePoint.from(ZonedDateTime.of(1969, 12, 27, 10, 0, 0, 0, ZoneId.of("America/New_York")));
+
+        assertThat(calculator.isBusinessDay(saturday)).isFalse();
+        assertThat(calculator.nextBusinessDay(saturday).getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(calculator.previousBusinessDay(saturday).getDayOfWeek()).isEqualTo(DayOfWeek.FRIDAY);
+        TimePoint later = calculator.addBusinessDays(saturday, 5_000_000);
+        assertThat(later.toLocalDateTime().toLocalTime()).isEqualTo(saturday.toLocalDateTime().toLocalTime());
+        assertThat(later.toEpochDay() - saturday.toEpochDay()).isEqualTo(7_000_000 - 1);
+        assertThat(calculator.businessDaysBetween(saturday, later)).isEqualTo(5_000_000 - 1);
+    }
+
+    private static boolean isBusinessDay(TimePoint day) {
+        DayOfWeek dayOfWeek = day.getDayOfWeek();
+        boolean weekday = dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
+        int year = day.toLocalDateTime().getYear();
+        return weekday && (year < 2020 || year > 2030 || !HOLIDAYS.isHoliday(day));
+    }
+
+}
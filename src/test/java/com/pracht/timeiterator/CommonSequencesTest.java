@@ -101,4 +101,29 @@ public class CommonSequencesTest {
         TimePointIterator dstEnd = CommonSequences.US.DST_END(2024, 2024);
         assertThat(dstEnd.next().toLocalDateTime().toLocalDate()).isEqualTo(LocalDate.of(2024, 11, 3));
     }
+
+    @Test
+    void testRuleBasedHolidaysOverLongRange() {
+        List<TimePoint> goodFridays = CommonSequences.US.GOOD_FRIDAY(1900, 2099).stream().collect(Collectors.toList());
+        List<TimePoint> memorialDays = CommonSequences.US.MEMORIAL_DAY(1900, 2099).stream().collect(Collectors.toList());
+
+        assertThat(goodFridays).hasSize(200);
+        assertThat(goodFridays.get(0).toLocalDateTime().toLocalDate()).isEqualTo(LocalDate.of(1900, 4, 13));
+        assertThat(goodFridays.get(124).toLocalDateTime().toLocalDate()).isEqualTo(LocalDate.of(2024, 3, 29));
+        assertThat(goodFridays).allMatch(point -> point.getDayOfWeek() == DayOfWeek.FRIDAY);
+        assertThat(memorialDays).hasSize(200);
+        assertThat(memorialDays).allMatch(point -> point.getDayOfWeek() == DayOfWeek.MONDAY
+                && point.toLocalDateTime().getDayOfMonth() > 24 && point.toLocalDateTime().getMonthValue() == 5);
+    }
+
+    @Test
+    void testRuleBasedHolidaysEqualAcrossCalls() {
+        assertThat(CommonSequences.US.THANKSGIVING(2020, 2030)).isEqualTo(CommonSequences.US.THANKSGIVING(2020, 2030));
+        assertThat(CommonSequences.US.THANKSGIVING(2020, 2030).hashCode())
+                .isEqualTo(CommonSequences.US.THANKSGIVING(2020, 2030).hashCode());
+        assertThat(CommonSequences.US.EASTER(2020, 2030)).isEqualTo(CommonSequences.US.EASTER(2020, 2030));
+        assertThat(CommonSequences.US.EASTER(2020, 2030)).isNotEqualTo(CommonSequences.US.GOOD_FRIDAY(2020, 2030));
+        assertThat(CommonSequences.US.DST_START(2020, 2030)).isEqualTo(CommonSequences.US.DST_START(2020, 2030));
+        assertThat(CommonSequences.US.DST_END(2020, 2030).hashCode()).isEqualTo(CommonSequences.US.DST_END(2020, 2030).hashCode());
+    }
 }
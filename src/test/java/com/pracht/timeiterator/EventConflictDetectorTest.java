@@ -0,0 +1,121 @@
+package com.pracht.timeiterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.pracht.timeiterator.model.EventConflict;
+import com.pracht.timeiterator.model.EventInterval;
+import com.pracht.timeiterator.model.TimePoint;
+
+public class EventConflictDetectorTest {
+
+	private static final TimePoint WINDOW_START = TimePoint.from(LocalDateTime.of(2024, 3, 1, 0, 0));
+
+	private static final TimePoint WINDOW_END = WINDOW_START.plus(14, ChronoUnit.DAYS);
+
+	@Test
+	void testConflictsMatchPairwiseComparison() {
+		Random random = new Random(11);
+		List<TimePointSequence> sequences = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			sequences.add(TimePointSequence.builder()
+					.startingPoint(WINDOW_START.minus(random.nextInt(3 * 24 * 60), ChronoUnit.MINUTES))
+					.cycleCount(6L + random.nextInt(48)).cycleUnit(ChronoUnit.HOURS)
+					.eventDuration(15L + random.nextInt(8 * 60)).eventDurationUnit(ChronoUnit.MINUTES).build());
+		}
+		List<EventInterval> events = EventIntervalIndex.of(sequences, WINDOW_START, WINDOW_END)
+				.overlapping(WINDOW_START, WINDOW_END);
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < events.size(); i++) {
+			for (int j = i + 1; j < events.size(); j++) {
+				EventInterval event1 = events.get(i);
+				EventInterval event2 = events.get(j);
+				if (event1.overlaps(event2.getStart(), event2.getFinish())) {
+					expected.add(pair(event1, event2));
+				}
+			}
+		}
+
+		EventConflictDetector detector = EventConflictDetector.of(sequences, WINDOW_START, WINDOW_END);
+		List<String> actual = new ArrayList<>();
+		TimePoint lastStart = null;
+		while (detector.hasNext()) {
+			EventConflict conflict = detector.next();
+			assertThat(conflict.getFirst().getStart().isAfter(conflict.getSecond().getStart())).isFalse();
+			assertThat(conflict.getOverlapStart().isBefore(conflict.getOverlapFinish())).isTrue();
+			if (lastStart != null) {
+				assertThat(conflict.getSecond().getStart().isBefore(lastStart)).isFalse();
+			}
+			lastStart = conflict.getSecond().getStart();
+			assertThat(detector.getActiveCount()).isLessThan(sequences.size() * 2);
+			actual.add(pair(conflict.getFirst(), conflict.getSecond()));
+		}
+
+		assertThat(expected).isNotEmpty();
+		assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+		assertThat(sequences).allMatch(sequence -> sequence.getCurrentPoint() == null);
+	}
+
+	@Test
+	void testBackToBackEventsDoNotConflict() {
+		TimePointSequence hourly = TimePointSequence.builder().startingPoint(WINDOW_START).cycleUnit(ChronoUnit.HOURS)
+				.eventDuration(1L).eventDurationUnit(ChronoUnit.HOURS).build();
+		TimePointSequence meeting = TimePointSequence.builder().startingPoint(WINDOW_START.plus(90, ChronoUnit.MINUTES))
+				.eventDuration(30L).eventDurationUnit(ChronoUnit.MINUTES).maximumPointCount(1L).build();
+		EventConflictDetector detector = EventConflictDetector.of(List.of(hourly, meeting), WINDOW_START,
+				WINDOW_START.plus(1, ChronoUnit.DAYS));
+
+		assertThat(detector.hasNext()).isTrue();
+		EventConflict conflict = detector.next();
+		assertThat(conflict.getFirst()).isEqualTo(new EventInterval(WINDOW_START.plus(1, ChronoUnit.HOURS),
+				WINDOW_START.plus(2, ChronoUnit.HOURS), 0));
+		assertThat(conflict.getSecond().getSourceIndex()).isEqualTo(1);
+		assertThat(conflict.getOverlapFinish()).isEqualTo(WINDOW_START.plus(2, ChronoUnit.HOURS));
+		assertThat(detector.hasNext()).isFalse();
+	}
+
+	@Test
+	void testSequencesFarBeforeTheWindowStartAtIt() {
+		TimePointSequence daily = TimePointSequence.builder().startingPoint(WINDOW_START.minus(30 * 366, ChronoUnit.DAYS).plus(9, ChronoUnit.HOURS))
+				.eventDuration(2L).eventDurationUnit(ChronoUnit.HOURS).build();
+		TimePointSequence everyFiveMinutes = TimePointSequence.builder().startingPoint(WINDOW_START.minus(20 * 366, ChronoUnit.DAYS))
+				.cycleCount(5L).cycleUnit(ChronoUnit.MINUTES).eventDuration(1L).eventDurationUnit(ChronoUnit.MINUTES).build();
+		everyFiveMinutes.getExcludedChildSequences().add(TimePointSequence.builder()
+				.startingPoint(WINDOW_START.minus(20 * 366, ChronoUnit.DAYS)).cycleUnit(ChronoUnit.HOURS).build());
+		EventConflictDetector detector = EventConflictDetector.of(List.of(daily, everyFiveMinutes), WINDOW_START,
+				WINDOW_START.plus(1, ChronoUnit.DAYS));
+
+		List<EventConflict> conflicts = new ArrayList<>();
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> detector.forEachRemaining(conflicts::add));
+
+		// From 09:05 to 10:55, less 10:00
+		assertThat(conflicts).hasSize(22);
+		assertThat(conflicts.get(0).getFirst()).isEqualTo(new EventInterval(WINDOW_START.plus(9, ChronoUnit.HOURS),
+				WINDOW_START.plus(11, ChronoUnit.HOURS), 0));
+		assertThat(conflicts.get(0).getSecond().getStart()).isEqualTo(WINDOW_START.plus(545, ChronoUnit.MINUTES));
+		assertThat(daily.getCurrentPoint()).isNull();
+	}
+
+	@Test
+	void testRejectsDecrementingSequences() {
+		TimePointSequence backwards = TimePointSequence.builder().startingPoint(WINDOW_START).incrementing(false)
+				.eventDuration(1L).eventDurationUnit(ChronoUnit.HOURS).build();
+
+		assertThatThrownBy(() -> EventConflictDetector.of(List.of(backwards), WINDOW_START, WINDOW_END))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static String pair(EventInterval event1, EventInterval event2) {
+		return event1 + " " + event2;
+	}
+}
@@ -0,0 +1,95 @@
+package com.pracht.timeiterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.pracht.timeiterator.model.EventInterval;
+import com.pracht.timeiterator.model.TimePoint;
+
+public class EventIntervalIndexTest {
+
+	private static final TimePoint WINDOW_START = TimePoint.from(LocalDateTime.of(2024, 3, 1, 0, 0));
+
+	private static final TimePoint WINDOW_END = WINDOW_START.plus(30, ChronoUnit.DAYS);
+
+	@Test
+	void testQueriesMatchAFullScan() {
+		Random random = new Random(7);
+		List<TimePointSequence> sequences = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			sequences.add(TimePointSequence.builder()
+					.startingPoint(WINDOW_START.minus(random.nextInt(20 * 24 * 60), ChronoUnit.MINUTES))
+					.cycleCount(1L + random.nextInt(72)).cycleUnit(ChronoUnit.HOURS)
+					.eventDuration(1L + random.nextInt(6 * 60)).eventDurationUnit(ChronoUnit.MINUTES).build());
+		}
+		EventIntervalIndex index = EventIntervalIndex.of(sequences, WINDOW_START, WINDOW_END);
+		List<EventInterval> allEvents = index.overlapping(WINDOW_START.minus(100, ChronoUnit.DAYS), WINDOW_END.plus(100, ChronoUnit.DAYS));
+
+		assertThat(allEvents).hasSize(index.size());
+		assertThat(allEvents).isSortedAccordingTo((event1, event2) -> SequenceHeads.compareAscending(event1.getStart(), event2.getStart()));
+		assertThat(sequences).allMatch(sequence -> sequence.getCurrentPoint() == null);
+		for (int i = 0; i < 500; i++) {
+			TimePoint point = WINDOW_START.plus(random.nextInt(31 * 24 * 60) - 12 * 60, ChronoUnit.MINUTES);
+			List<EventInterval> expected = allEvents.stream().filter(event -> event.contains(point)).collect(Collectors.toList());
+			assertThat(index.activeAt(point)).containsExactlyElementsOf(expected);
+			assertThat(index.isActiveAt(point)).isEqualTo(!expected.isEmpty());
+
+			TimePoint rangeEnd = point.plus(random.nextInt(12 * 60), ChronoUnit.MINUTES);
+			List<EventInterval> expectedOverlap = allEvents.stream().filter(event -> event.overlaps(point, rangeEnd))
+					.collect(Collectors.toList());
+			assertThat(index.overlapping(point, rangeEnd)).containsExactlyElementsOf(expectedOverlap);
+		}
+	}
+
+	@Test
+	void testEventsAreTakenFromTheWindow() {
+		TimePointSequence daily = TimePointSequence.builder().startingPoint(WINDOW_START.minus(10, ChronoUnit.DAYS).plus(22, ChronoUnit.HOURS))
+				.eventDuration(4L).eventDurationUnit(ChronoUnit.HOURS).build();
+		TimePointSequence backwards = TimePointSequence.builder().startingPoint(WINDOW_END.plus(1, ChronoUnit.DAYS))
+				.cycleCount(7L).incrementing(false).eventDuration(2L).eventDurationUnit(ChronoUnit.DAYS).build();
+		EventIntervalIndex index = EventIntervalIndex.of(List.of(daily, backwards), WINDOW_START, WINDOW_END);
+
+		// The daily event of the last day before the window runs into it
+		assertThat(index.activeAt(WINDOW_START.plus(1, ChronoUnit.HOURS)))
+				.containsExactly(new EventInterval(WINDOW_START.minus(2, ChronoUnit.HOURS), WINDOW_START.plus(2, ChronoUnit.HOURS), 0));
+		assertThat(index.activeAt(WINDOW_START.plus(2, ChronoUnit.HOURS))).isEmpty();
+		assertThat(index.overlapping(WINDOW_START, WINDOW_END).stream().filter(event -> event.getSourceIndex() == 0).count())
+				.isEqualTo(31L);
+		assertThat(index.overlapping(WINDOW_START, WINDOW_END).stream().filter(event -> event.getSourceIndex() == 1).count())
+				.isEqualTo(4L);
+		assertThat(index.isActiveAt(WINDOW_END.plus(5, ChronoUnit.DAYS))).isFalse();
+		assertThat(EventIntervalIndex.of(List.of()).activeAt(WINDOW_START)).isEmpty();
+	}
+
+	@Test
+	void testSequencesFarFromTheWindowSeekToIt() {
+		TimePointSequence everyMinute = TimePointSequence.builder().startingPoint(WINDOW_START.minus(20 * 366, ChronoUnit.DAYS))
+				.cycleUnit(ChronoUnit.MINUTES).eventDuration(90L).eventDurationUnit(ChronoUnit.MINUTES).build();
+		everyMinute.getExcludedChildSequences().add(TimePointSequence.builder()
+				.startingPoint(WINDOW_START.minus(20 * 366, ChronoUnit.DAYS)).cycleUnit(ChronoUnit.HOURS).build());
+		TimePointSequence backwards = TimePointSequence.builder().startingPoint(WINDOW_END.plus(20 * 366, ChronoUnit.DAYS))
+				.cycleUnit(ChronoUnit.MINUTES).incrementing(false).eventDuration(30L).eventDurationUnit(ChronoUnit.MINUTES).build();
+
+		EventIntervalIndex index = assertTimeoutPreemptively(Duration.ofSeconds(5),
+				() -> EventIntervalIndex.of(List.of(everyMinute, backwards), WINDOW_START, WINDOW_END));
+
+		// Every minute from 89 minutes before the window, less the hours; every minute from 29 minutes before
+		assertThat(index.overlapping(WINDOW_START, WINDOW_END).stream().filter(event -> event.getSourceIndex() == 0).count())
+				.isEqualTo(89L + 30 * 24 * 60 - 721);
+		assertThat(index.overlapping(WINDOW_START, WINDOW_END).stream().filter(event -> event.getSourceIndex() == 1).count())
+				.isEqualTo(29L + 30 * 24 * 60);
+		assertThat(index.activeAt(WINDOW_START)).hasSize(90 - 2 + 30);
+		assertThat(everyMinute.getCurrentPoint()).isNull();
+		assertThat(backwards.getCurrentPoint()).isNull();
+	}
+}
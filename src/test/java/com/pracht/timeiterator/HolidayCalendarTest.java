@@ -0,0 +1,66 @@
+package com.pracht.timeiterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.pracht.timeiterator.model.TimePoint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class HolidayCalendarTest {
+
+    @Test
+    void testUSHolidays() {
+        HolidayCalendar calendar = CommonSequences.US.HOLIDAY_CALENDAR(2020, 2030);
+
+        assertThat(calendar.isHoliday(LocalDate.of(2024, 11, 28))).isTrue(); // Thanksgiving
+        assertThat(calendar.isHoliday(LocalDate.of(2024, 3, 29))).isTrue(); // Good Friday
+        assertThat(calendar.isHoliday(LocalDate.of(2024, 5, 27))).isTrue(); // Memorial Day
+        assertThat(calendar.isHoliday(LocalDate.of(2030, 12, 25))).isTrue();
+        assertThat(calendar.isHoliday(LocalDate.of(2024, 10, 31))).isFalse(); // Halloween is not a holiday
+        assertThat(calendar.isHoliday(TimePoint.from(LocalDateTime.of(2024, 7, 4, 18, 30)))).isTrue();
+        assertThat(calendar.isHoliday(TimePoint.from(LocalDateTime.of(2024, 7, 5, 0, 0)))).isFalse();
+    }
+
+    @Test
+    void testNextAndPreviousHoliday() {
+        HolidayCalendar calendar = CommonSequences.US.HOLIDAY_CALENDAR(2023, 2024);
+        TimePoint julyFourth = TimePoint.from(LocalDateTime.of(2024, 7, 4, 0, 0));
+
+        assertThat(calendar.nextHoliday(julyFourth)).isEqualTo(TimePoint.from(LocalDateTime.of(2024, 9, 2, 0, 0)));
+        assertThat(calendar.previousHoliday(julyFourth)).isEqualTo(TimePoint.from(LocalDateTime.of(2024, 6, 19, 0, 0)));
+        assertThat(calendar.nextHoliday(TimePoint.from(LocalDateTime.of(2024, 12, 25, 0, 0)))).isNull();
+        assertThat(calendar.previousHoliday(TimePoint.from(LocalDateTime.of(2023, 1, 1, 12, 0)))).isNull();
+        // References outside the range still find the nearest holiday inside it
+        assertThat(calendar.nextHoliday(TimePoint.from(LocalDateTime.of(1999, 6, 1, 0, 0))))
+                .isEqualTo(TimePoint.from(LocalDateTime.of(2023, 1, 1, 0, 0)));
+        assertThat(calendar.previousHoliday(TimePoint.from(LocalDateTime.of(2031, 6, 1, 0, 0))))
+                .isEqualTo(TimePoint.from(LocalDateTime.of(2024, 12, 25, 0, 0)));
+    }
+
+    @Test
+    void testScansMatchMembership() {
+        TimePoint start = TimePoint.from(LocalDateTime.of(2000, 1, 3, 0, 0));
+        TimePointSequence everyThirteenDays = TimePointSequence.builder().startingPoint(start).cycleCount(13L)
+                .cycleUnit(ChronoUnit.DAYS).build();
+        HolidayCalendar calendar = HolidayCalendar.of(2000, 2002, List.of(everyThirteenDays));
+
+        TimePoint day = TimePoint.from(LocalDateTime.of(2000, 1, 1, 0, 0));
+        TimePoint expectedNext = start;
+        while (expectedNext != null) {
+            TimePoint next = calendar.nextHoliday(day);
+            assertThat(next).isEqualTo(expectedNext);
+            assertThat(calendar.previousHoliday(next.plus(1, ChronoUnit.DAYS))).isEqualTo(next);
+            assertThat(calendar.isHoliday(next)).isTrue();
+            day = next;
+            expectedNext = next.plus(13, ChronoUnit.DAYS);
+            expectedNext = expectedNext.toLocalDateTime().getYear() > 2002 ? null : expectedNext;
+        }
+        assertThat(calendar.nextHoliday(day)).isNull();
+        assertThatThrownBy(() -> calendar.isHoliday(LocalDate.of(2003, 1, 1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
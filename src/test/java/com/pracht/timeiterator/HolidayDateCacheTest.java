@@ -0,0 +1,78 @@
+package com.pracht.timeiterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pracht.timeiterator.CommonSequences.US.Holiday;
+import com.pracht.timeiterator.model.TimePoint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class HolidayDateCacheTest {
+
+    @Test
+    void testMatchesHolidaySequences() {
+        HolidayDateCache cache = new HolidayDateCache(2000, 2049).prewarm();
+        List<TimePoint> thanksgivings = CommonSequences.US.THANKSGIVING(2000, 2049).stream().collect(Collectors.toList());
+        List<TimePoint> easters = CommonSequences.US.EASTER(2000, 2049).stream().collect(Collectors.toList());
+
+        for (int year = 2000; year <= 2049; year++) {
+            assertThat(cache.get(Holiday.THANKSGIVING, year)).isEqualTo(thanksgivings.get(year - 2000));
+            assertThat(cache.get(Holiday.EASTER, year)).isEqualTo(easters.get(year - 2000));
+        }
+        assertThat(cache.get(Holiday.JUNETEENTH, 2030)).isEqualTo(TimePoint.from(LocalDateTime.of(2030, 6, 19, 0, 0)));
+        assertThat(Holiday.MEMORIAL_DAY.dateIn(2024)).isEqualTo(LocalDate.of(2024, 5, 27));
+    }
+
+    @Test
+    void testCalendarHoldsEveryHolidayDate() {
+        HolidayCalendar calendar = CommonSequences.US.HOLIDAY_CALENDAR(2020, 2030);
+
+        for (int year = 2020; year <= 2030; year++) {
+            for (Holiday holiday : Holiday.values()) {
+                assertThat(calendar.isHoliday(holiday.dateIn(year))).as("%s %d", holiday, year).isTrue();
+            }
+        }
+        assertThat(calendar.nextHoliday(TimePoint.from(LocalDateTime.of(2024, 11, 12, 0, 0))))
+                .isEqualTo(TimePoint.from(LocalDateTime.of(2024, 11, 28, 0, 0)));
+        assertThat(CommonSequences.US.CHRISTMAS(2024).next()).isSameAs(CommonSequences.US.holidayDate(Holiday.CHRISTMAS, 2024));
+    }
+
+    @Test
+    void testCachedDatesAreReused() {
+        HolidayDateCache cache = new HolidayDateCache(2020, 2030);
+
+        assertThat(cache.get(Holiday.CHRISTMAS, 2025)).isSameAs(cache.get(Holiday.CHRISTMAS, 2025));
+        // Years outside the window are still answered, just not kept
+        assertThat(cache.get(Holiday.CHRISTMAS, 2031)).isEqualTo(TimePoint.from(LocalDateTime.of(2031, 12, 25, 0, 0)));
+        assertThat(cache.get(Holiday.CHRISTMAS, 2031)).isNotSameAs(cache.get(Holiday.CHRISTMAS, 2031));
+        assertThat(CommonSequences.US.holidayDate(Holiday.LABOR_DAY, 2024))
+                .isSameAs(HolidayDateCache.shared().get(Holiday.LABOR_DAY, 2024));
+    }
+
+    @Test
+    void testConcurrentReadersSeeOneDate() {
+        HolidayDateCache cache = new HolidayDateCache(1900, 2199);
+        Map<Integer, TimePoint> firstSeen = new ConcurrentHashMap<>();
+        AtomicInteger differentInstances = new AtomicInteger();
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            int year = 1900 + i % 300;
+            TimePoint date = cache.get(Holiday.GOOD_FRIDAY, year);
+            TimePoint first = firstSeen.putIfAbsent(year, date);
+            if (first != null && first != date) {
+                differentInstances.incrementAndGet();
+            }
+        });
+
+        assertThat(firstSeen).hasSize(300);
+        assertThat(differentInstances.get()).isZero();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.pracht.timeiterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+public class TimePointIteratorDefinitionTest {
+
+	private final TimePoint initialStartTimePoint = TimePoint.from(LocalDateTime.of(2022, 9, 12, 20, 0));
+
+	@Test
+	void testCursorsMergeIndependently() {
+		TimePointIterator merged = TimePointIterator.builder().startingPoint(initialStartTimePoint)
+				.sequence(TimePointSequence.builder().startingPoint(initialStartTimePoint).cycleCount(2L)
+						.cycleUnit(ChronoUnit.DAYS).build())
+				.sequence(TimePointSequence.builder().startingPoint(initialStartTimePoint).cycleCount(3L)
+						.cycleUnit(ChronoUnit.DAYS).build())
+				.maximumPointCount(6L).dateTimeFormatter(DateTimeFormatter.ISO_LOCAL_DATE).build();
+		TimePointIteratorDefinition definition = merged.toDefinition();
+		String expected = "[2022-09-12, 2022-09-12, 2022-09-14, 2022-09-15, 2022-09-16, 2022-09-18]";
+
+		TimePointIterator first = definition.cursor();
+		first.next();
+		assertThat(definition.cursor().dump()).isEqualTo(expected);
+		assertThat(merged.dump()).isEqualTo(expected);
+		assertThat(first.getCurrentPointCount()).isEqualTo(1L);
+		assertThat(definition.cursor().getSequences().get(0).getCurrentPoint()).isNull();
+		assertThat(definition.getSequenceDefinitions()).hasSize(2);
+	}
+}
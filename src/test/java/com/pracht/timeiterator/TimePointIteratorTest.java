@@ -9,12 +9,14 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.pracht.timeiterator.model.EpochUnit;
 import com.pracht.timeiterator.model.TimePoint;
 
 public class TimePointIteratorTest {
@@ -170,4 +172,101 @@ public class TimePointIteratorTest {
 		}).isExactlyInstanceOf(NoSuchElementException.class);
 	}
 
+
+	@Test
+	void testMergeManySequences() {
+		TimePointIterator.Builder builder = TimePointIterator.builder().startingPoint(initialStartTimePoint);
+		List<TimePoint> expectedTimePoints = new ArrayList<>();
+		for (int minute = 0; minute < 300; minute++) {
+			TimePoint start = initialStartTimePoint.plus(minute * 7 % 300, ChronoUnit.MINUTES);
+			builder.sequence(TimePointSequence.builder().startingPoint(start).cycleCount(300L)
+					.cycleUnit(ChronoUnit.MINUTES).build());
+		}
+		for (int minute = 0; minute < 900; minute++) {
+			expectedTimePoints.add(initialStartTimePoint.plus(minute, ChronoUnit.MINUTES));
+		}
+		TimePointIterator merged = builder.build();
+
+		List<TimePoint> actualTimePoints = new ArrayList<>();
+		for (int i = 0; i < 900; i++) {
+			actualTimePoints.add(merged.next());
+		}
+		assertThat(actualTimePoints).isEqualTo(expectedTimePoints);
+	}
+
+	@Test
+	void testMergeDecrementingWithLimits() {
+		TimePointSequence everyThreeDays = TimePointSequence.builder().startingPoint(initialStartTimePoint).cycleCount(3L)
+				.cycleUnit(ChronoUnit.DAYS).incrementing(false).build();
+		TimePointSequence everyFiveDays = TimePointSequence.builder().startingPoint(initialStartTimePoint.minus(1, ChronoUnit.DAYS))
+				.cycleCount(5L).cycleUnit(ChronoUnit.DAYS).incrementing(false).maximumPointCount(2L).build();
+		TimePointIterator merged = TimePointIterator.builder().startingPoint(initialStartTimePoint).incrementing(false)
+				.sequence(everyThreeDays).sequence(everyFiveDays).maximumPointCount(5L)
+				.dateTimeFormatter(DateTimeFormatter.ISO_LOCAL_DATE).build();
+
+		assertThat(merged.dump()).isEqualTo("[2022-09-12, 2022-09-11, 2022-09-09, 2022-09-06, 2022-09-06]");
+		assertThat(merged.hasNext()).isFalse();
+		assertThat(merged.findNextSequence()).isSameAs(everyThreeDays);
+	}
+
+	@Test
+	void testEpochStreams() {
+		TimePointIterator iterator = TimePointIterator.builder().startingPoint(initialStartTimePoint)
+				.sequence(TimePointSequence.builder().startingPoint(initialStartTimePoint).cycleCount(2L)
+						.cycleUnit(ChronoUnit.DAYS).build())
+				.sequence(TimePointSequence.builder().startingPoint(initialStartTimePoint.plus(1, ChronoUnit.DAYS))
+						.cycleCount(2L).cycleUnit(ChronoUnit.DAYS).build())
+				.maximumPointCount(4L).build();
+		long firstDay = initialStartTimePoint.toEpochDay();
+
+		assertThat(iterator.epochDayStream().toArray())
+				.containsExactly((int) firstDay, (int) firstDay + 1, (int) firstDay + 2, (int) firstDay + 3);
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
+	@Test
+	void testCountUntilAndBetween() {
+		TimePoint end = initialStartTimePoint.plus(30, ChronoUnit.DAYS);
+		TimePointIterator merged = TimePointIterator.builder().startingPoint(initialStartTimePoint)
+				.sequence(TimePointSequence.builder().startingPoint(initialStartTimePoint).cycleCount(2L)
+						.cycleUnit(ChronoUnit.DAYS).build())
+				.sequence(TimePointSequence.builder().startingPoint(initialStartTimePoint).cycleCount(3L)
+						.cycleUnit(ChronoUnit.DAYS).build())
+				.endingPoint(end).build();
+
+		// Days 0 to 30 of each sequence, the shared days counted once per sequence
+		assertThat(merged.countUntil(initialStartTimePoint.plus(100, ChronoUnit.DAYS))).isEqualTo(16L + 11L);
+		assertThat(merged.countUntil(end)).isEqualTo(15L + 10L);
+		assertThat(merged.countBetween(initialStartTimePoint.plus(6, ChronoUnit.DAYS), end)).isEqualTo(12L + 8L);
+		assertThat(merged.getCurrentPoint()).isNull();
+
+		merged.setMaximumPointCount(20L);
+		merged.next();
+		assertThat(merged.countUntil(end)).isEqualTo(19L);
+		assertThat(merged.stream().count()).isEqualTo(19L);
+		assertThat(merged.countUntil(end)).isZero();
+	}
+
+	@Test
+	void testNextBatchWithSequenceIndices() {
+		TimePointIterator merged = TimePointIterator.builder().startingPoint(initialStartTimePoint)
+				.sequence(TimePointSequence.builder().startingPoint(initialStartTimePoint).cycleCount(2L)
+						.cycleUnit(ChronoUnit.DAYS).build())
+				.sequence(TimePointSequence.builder().startingPoint(initialStartTimePoint).cycleCount(3L)
+						.cycleUnit(ChronoUnit.DAYS).build())
+				.maximumPointCount(7L).build();
+		long firstDay = initialStartTimePoint.toEpochDay();
+		long[] days = new long[10];
+		int[] sequenceIndices = new int[10];
+
+		assertThat(merged.nextBatch(days, sequenceIndices, 1, 9, EpochUnit.DAYS)).isEqualTo(7);
+		assertThat(Arrays.copyOfRange(days, 1, 8)).containsExactly(firstDay, firstDay, firstDay + 2, firstDay + 3,
+				firstDay + 4, firstDay + 6, firstDay + 6);
+		assertThat(Arrays.copyOfRange(sequenceIndices, 1, 8)).containsExactly(0, 1, 0, 1, 0, 0, 1);
+		assertThat(merged.getCurrentPointCount()).isEqualTo(7L);
+		assertThat(merged.getCurrentPoint()).isEqualTo(initialStartTimePoint.plus(6, ChronoUnit.DAYS));
+		assertThat(merged.hasNext()).isFalse();
+		assertThat(merged.nextBatch(days, 0, 10, EpochUnit.DAYS)).isZero();
+	}
+
 }
@@ -0,0 +1,87 @@
+package com.pracht.timeiterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+public class TimePointSequenceDefinitionTest {
+
+	private final TimePoint monday = TimePoint.from(LocalDateTime.of(2024, 1, 1, 9, 0));
+
+	private TimePointSequence weekdays;
+
+	@BeforeEach
+	public void setupBeforeEach() {
+		weekdays = TimePointSequence.builder().startingPoint(monday)
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(monday, 1, DayOfWeek.SATURDAY)
+						.cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).maximumPointCount(3L).build())
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(monday, 1, DayOfWeek.SUNDAY)
+						.cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).build())
+				.dateTimeFormatter(DateTimeFormatter.ISO_LOCAL_DATE).build();
+	}
+
+	@Test
+	void testCursorsAreIndependent() {
+		TimePointSequenceDefinition definition = weekdays.toDefinition();
+		TimePointSequence first = definition.cursor();
+		TimePointSequence second = definition.cursor();
+
+		first.next();
+		first.next();
+		assertThat(second.next()).isEqualTo(monday);
+		assertThat(first.next()).isEqualTo(monday.plus(2, ChronoUnit.DAYS));
+		// The Saturday child of each cursor runs out after its own three Saturdays
+		assertThat(second.dump(19L)).isEqualTo(definition.cursor().dump(20L).replace("[2024-01-01, ", "["));
+		assertThat(definition.cursor().dump(21L)).doesNotContain("2024-01-20").endsWith("2024-01-26, 2024-01-27]");
+		assertThat(definition.getExcludedChildDefinitions().get(0).getMaximumPointCount()).isEqualTo(3L);
+	}
+
+	@Test
+	void testDefinitionIgnoresTheSourceSequence() {
+		weekdays.next();
+		weekdays.next();
+		TimePointSequenceDefinition definition = TimePointSequenceDefinition.of(weekdays);
+		weekdays.setCycleCount(2L);
+		weekdays.getExcludedChildSequences().clear();
+
+		assertThat(definition.cursor().dump(6L))
+				.isEqualTo("[2024-01-01, 2024-01-02, 2024-01-03, 2024-01-04, 2024-01-05, 2024-01-08]");
+		assertThat(definition).isEqualTo(TimePointSequenceDefinition.of(definition.cursor()));
+		assertThat(definition).isNotEqualTo(weekdays.toDefinition());
+	}
+
+	@Test
+	void testSharedBetweenThreads() {
+		TimePointSequenceDefinition definition = weekdays.toDefinition();
+		String expected = definition.cursor().dump(500L);
+
+		List<String> dumps = IntStream.range(0, 64).parallel()
+				.mapToObj(i -> definition.cursor().dump(500L))
+				.collect(Collectors.toList());
+
+		assertThat(dumps).allMatch(expected::equals);
+	}
+
+	@Test
+	void testQueries() {
+		TimePointSequenceDefinition definition = weekdays.toDefinition();
+		TimePoint friday = monday.plus(4, ChronoUnit.DAYS);
+		TimePoint nextMonday = monday.plus(7, ChronoUnit.DAYS);
+
+		assertThat(definition.nextAfter(friday)).isEqualTo(nextMonday);
+		assertThat(definition.occurrence(5L)).isEqualTo(nextMonday);
+		assertThat(definition.indexOf(nextMonday)).isEqualTo(5L);
+		assertThat(definition.countBetween(monday, nextMonday.plus(7, ChronoUnit.DAYS))).isEqualTo(10L);
+	}
+}
@@ -2,8 +2,10 @@ package com.pracht.timeiterator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -11,15 +13,21 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.pracht.timeiterator.model.EpochUnit;
+import com.pracht.timeiterator.model.EventRelationship;
 import com.pracht.timeiterator.model.TimePoint;
 
 public class TimePointSequenceTest {
@@ -448,4 +456,564 @@ public class TimePointSequenceTest {
 		assertThat(result.get(2)).isEqualTo(TimePoint.from(LocalDateTime.of(2022, 9, 12, 11, 30)));
 	}
 
+
+	@Test
+	void testPeekNextAfterFarReferenceFixedCycle() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2022, 1, 1, 0, 0));
+		TimePointSequence quarterHours = TimePointSequence.builder()
+				.startingPoint(start)
+				.cycleCount(15L)
+				.cycleUnit(ChronoUnit.MINUTES)
+				.build();
+
+		TimePoint reference = TimePoint.from(LocalDateTime.of(2031, 6, 17, 13, 7));
+		assertThat(quarterHours.peekNextAfter(reference)).isEqualTo(TimePoint.from(LocalDateTime.of(2031, 6, 17, 13, 15)));
+
+		TimePoint onCycle = TimePoint.from(LocalDateTime.of(2031, 6, 17, 13, 15));
+		assertThat(quarterHours.peekNextAfter(onCycle)).isEqualTo(TimePoint.from(LocalDateTime.of(2031, 6, 17, 13, 30)));
+	}
+
+	@Test
+	void testPeekNextAfterDecrementingFixedCycle() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2022, 9, 12, 20, 0));
+		TimePointSequence weeksBack = TimePointSequence.builder()
+				.startingPoint(start)
+				.cycleCount(2L)
+				.cycleUnit(ChronoUnit.WEEKS)
+				.incrementing(false)
+				.build();
+
+		TimePoint reference = TimePoint.from(LocalDateTime.of(2020, 3, 1, 0, 0));
+		TimePoint expected = TimePoint.from(LocalDateTime.of(2020, 2, 17, 20, 0));
+		assertThat(weeksBack.peekNextAfter(reference)).isEqualTo(expected);
+		assertThat(weeksBack.peekNextAfter(expected)).isEqualTo(expected.minus(2, ChronoUnit.WEEKS));
+	}
+
+	@Test
+	void testFinishToStartFixedStride() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2022, 9, 12, 8, 0));
+		TimePointSequence shifts = TimePointSequence.builder()
+				.startingPoint(start)
+				.cycleCount(30L)
+				.cycleUnit(ChronoUnit.MINUTES)
+				.eventDuration(8L)
+				.eventDurationUnit(ChronoUnit.HOURS)
+				.eventRelationship(EventRelationship.FINISH_TO_START)
+				.build();
+
+		List<TimePoint> stepped = shifts.stream().limit(4).collect(Collectors.toList());
+		assertThat(stepped.get(3)).isEqualTo(TimePoint.from(LocalDateTime.of(2022, 9, 13, 9, 30)));
+
+		TimePoint reference = TimePoint.from(LocalDateTime.of(2023, 1, 1, 0, 0));
+		TimePoint seek = shifts.peekNextAfter(reference);
+		TimePoint walked = start;
+		while (!walked.isAfter(reference)) {
+			walked = walked.plus(8, ChronoUnit.HOURS).plus(30, ChronoUnit.MINUTES);
+		}
+		assertThat(seek).isEqualTo(walked);
+	}
+
+	@Test
+	void testFinishToFinishAndStartToFinishStrides() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2022, 9, 12, 8, 0));
+		TimePointSequence finishToFinish = TimePointSequence.builder().startingPoint(start).cycleCount(10L)
+				.cycleUnit(ChronoUnit.HOURS).eventDuration(3L).eventDurationUnit(ChronoUnit.HOURS)
+				.eventRelationship(EventRelationship.FINISH_TO_FINISH).build();
+		TimePointSequence startToFinish = TimePointSequence.builder().startingPoint(start).cycleCount(10L)
+				.cycleUnit(ChronoUnit.HOURS).eventDuration(3L).eventDurationUnit(ChronoUnit.HOURS)
+				.eventRelationship(EventRelationship.START_TO_FINISH).build();
+
+		// Each finish is one cycle after the previous finish, or after the previous start
+		finishToFinish.next();
+		TimePoint firstFinish = finishToFinish.peekFinish();
+		finishToFinish.next();
+		assertThat(finishToFinish.peekFinish()).isEqualTo(firstFinish.plus(10, ChronoUnit.HOURS));
+		startToFinish.next();
+		startToFinish.next();
+		assertThat(startToFinish.peekFinish()).isEqualTo(start.plus(10, ChronoUnit.HOURS));
+		assertThat(startToFinish.next()).isEqualTo(start.plus(14, ChronoUnit.HOURS));
+
+		TimePoint reference = TimePoint.from(LocalDateTime.of(2023, 1, 1, 0, 0));
+		assertThat(startToFinish.peekNextAfter(reference)).isEqualTo(start.plus(380 * 7, ChronoUnit.HOURS));
+		assertThat(startToFinish.occurrence(380)).isEqualTo(start.plus(380 * 7, ChronoUnit.HOURS));
+		assertThat(startToFinish.indexOf(start.plus(380 * 7, ChronoUnit.HOURS))).isEqualTo(380L);
+		assertThat(finishToFinish.countBetween(start, reference)).isEqualTo(countByIterating(finishToFinish.copy(), start, reference));
+		assertThat(startToFinish.countBetween(start, reference)).isEqualTo(countByIterating(startToFinish.copy(), start, reference));
+	}
+
+	@Test
+	void testStartToFinishNeedsACycleLongerThanTheEvent() {
+		assertThatThrownBy(() -> TimePointSequence.builder().startingPoint(TimePoint.from(LocalDateTime.of(2022, 9, 12, 8, 0)))
+				.cycleCount(2L).cycleUnit(ChronoUnit.HOURS).eventDuration(2L).eventDurationUnit(ChronoUnit.HOURS)
+				.eventRelationship(EventRelationship.START_TO_FINISH).build()).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testZonedHourlyAcrossDaylightSaving() {
+		ZoneId zone = ZoneId.of("America/New_York");
+		ZonedDateTime startZdt = ZonedDateTime.of(2024, 3, 9, 22, 0, 0, 0, zone);
+		TimePointSequence hourly = TimePointSequence.builder()
+				.startingPoint(TimePoint.from(startZdt))
+				.cycleCount(1L)
+				.cycleUnit(ChronoUnit.HOURS)
+				.build();
+
+		TimePoint reference = TimePoint.from(ZonedDateTime.of(2024, 3, 10, 1, 30, 0, 0, zone));
+		assertThat(hourly.peekNextAfter(reference).toZonedDateTime()).isEqualTo(ZonedDateTime.of(2024, 3, 10, 3, 0, 0, 0, zone));
+	}
+
+
+	@Test
+	void testMonthEndDoesNotDrift() {
+		TimePointSequence monthEnds = TimePointSequence.builder()
+				.startingPoint(TimePoint.from(LocalDateTime.of(2023, 1, 31, 9, 0)))
+				.cycleCount(1L)
+				.cycleUnit(ChronoUnit.MONTHS)
+				.maximumPointCount(4L)
+				.dateTimeFormatter(DateTimeFormatter.ISO_LOCAL_DATE)
+				.build();
+		assertThat(monthEnds.dump()).isEqualTo("[2023-01-31, 2023-02-28, 2023-03-31, 2023-04-30]");
+	}
+
+	@Test
+	void testPeekNextAfterFarReferenceCalendarCycle() {
+		TimePointSequence quarterly = TimePointSequence.builder()
+				.startingPoint(TimePoint.from(LocalDateTime.of(2022, 8, 31, 20, 0)))
+				.cycleCount(3L)
+				.cycleUnit(ChronoUnit.MONTHS)
+				.build();
+		assertThat(quarterly.peekNextAfter(TimePoint.from(LocalDateTime.of(2047, 11, 30, 20, 0))))
+				.isEqualTo(TimePoint.from(LocalDateTime.of(2048, 2, 29, 20, 0)));
+		assertThat(quarterly.peekNextAfter(TimePoint.from(LocalDateTime.of(2048, 2, 29, 20, 0))))
+				.isEqualTo(TimePoint.from(LocalDateTime.of(2048, 5, 31, 20, 0)));
+
+		TimePointSequence leapDays = TimePointSequence.builder()
+				.startingPoint(TimePoint.from(LocalDateTime.of(2024, 2, 29, 0, 0)))
+				.cycleCount(1L)
+				.cycleUnit(ChronoUnit.YEARS)
+				.incrementing(false)
+				.build();
+		assertThat(leapDays.peekNextAfter(TimePoint.from(LocalDateTime.of(2001, 3, 1, 0, 0))))
+				.isEqualTo(TimePoint.from(LocalDateTime.of(2001, 2, 28, 0, 0)));
+	}
+
+
+	@Test
+	void testCursorMatchesPeekNextAfter() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2022, 9, 12, 10, 0));
+		TimePointSequence included = TimePointSequence.builder()
+				.startingPoint(TimePoint.from(LocalDateTime.of(2022, 9, 12, 10, 20)))
+				.cycleCount(50L)
+				.cycleUnit(ChronoUnit.MINUTES)
+				.build();
+		TimePointSequence excluded = TimePointSequence.builder()
+				.startingPoint(TimePoint.from(LocalDateTime.of(2022, 9, 12, 13, 0)))
+				.cycleCount(3L)
+				.cycleUnit(ChronoUnit.HOURS)
+				.build();
+		TimePointSequence parent = TimePointSequence.builder()
+				.startingPoint(start)
+				.cycleCount(1L)
+				.cycleUnit(ChronoUnit.HOURS)
+				.includedChildSequence(included)
+				.excludedChildSequence(excluded)
+				.build();
+
+		TimePoint previous = null;
+		for (int i = 0; i < 200; i++) {
+			TimePoint expected = parent.peekNextAfter(previous);
+			assertThat(parent.peekNext()).isEqualTo(expected);
+			assertThat(parent.next()).isEqualTo(expected);
+			previous = expected;
+		}
+	}
+
+	@Test
+	void testCursorRepositionsAfterSetCurrentPoint() {
+		TimePointSequence hourly = TimePointSequence.builder()
+				.startingPoint(TimePoint.from(LocalDateTime.of(2022, 9, 12, 10, 0)))
+				.cycleCount(1L)
+				.cycleUnit(ChronoUnit.HOURS)
+				.build();
+		assertThat(hourly.next()).isEqualTo(TimePoint.from(LocalDateTime.of(2022, 9, 12, 10, 0)));
+		assertThat(hourly.peekNext()).isEqualTo(TimePoint.from(LocalDateTime.of(2022, 9, 12, 11, 0)));
+
+		hourly.setCurrentPoint(TimePoint.from(LocalDateTime.of(2023, 1, 1, 0, 30)));
+		assertThat(hourly.next()).isEqualTo(TimePoint.from(LocalDateTime.of(2023, 1, 1, 1, 0)));
+
+		hourly.setCycleUnit(ChronoUnit.DAYS);
+		assertThat(hourly.next()).isEqualTo(TimePoint.from(LocalDateTime.of(2023, 1, 1, 10, 0)));
+	}
+
+
+	@Test
+	void testDenseExclusionsDoNotRecurse() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2000, 1, 1, 0, 0));
+		TimePointSequence excludedDays = TimePointSequence.builder()
+				.startingPoint(start)
+				.endingPoint(TimePoint.from(LocalDateTime.of(2199, 12, 31, 0, 0)))
+				.build();
+		TimePointSequence daily = TimePointSequence.builder()
+				.startingPoint(start)
+				.excludedChildSequence(excludedDays)
+				.build();
+		assertThat(daily.next()).isEqualTo(TimePoint.from(LocalDateTime.of(2200, 1, 1, 0, 0)));
+	}
+
+	@Test
+	void testExclusionBehindAnEarlierExcludedPoint() {
+		// Excluded: 10:15 and 11:00. The 11:00 candidate must be skipped even though 10:15 comes first.
+		TimePoint start = TimePoint.from(LocalDateTime.of(2022, 9, 12, 10, 0));
+		TimePointSequence excluded = TimePointSequence.builder()
+				.startingPoint(TimePoint.from(LocalDateTime.of(2022, 9, 12, 10, 15)))
+				.cycleCount(45L)
+				.cycleUnit(ChronoUnit.MINUTES)
+				.maximumPointCount(2L)
+				.build();
+		TimePointSequence parent = TimePointSequence.builder()
+				.startingPoint(start)
+				.cycleCount(1L)
+				.cycleUnit(ChronoUnit.HOURS)
+				.excludedChildSequence(excluded)
+				.build();
+
+		assertThat(parent.next()).isEqualTo(start);
+		assertThat(parent.next()).isEqualTo(start.plus(2, ChronoUnit.HOURS));
+		assertThat(parent.peekNextAfter(start)).isEqualTo(start.plus(2, ChronoUnit.HOURS));
+	}
+
+	@Test
+	void testExcludedChildBoundedByCountEndsWithoutBeingIterated() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 1, 0, 0));
+		TimePointSequence firstTwoDays = TimePointSequence.builder().startingPoint(start).maximumPointCount(2L).build();
+		TimePointSequence daily = TimePointSequence.builder().startingPoint(start).excludedChildSequence(firstTwoDays).build();
+
+		TimePoint first = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> daily.next());
+		assertThat(first).isEqualTo(start.plus(2, ChronoUnit.DAYS));
+		assertThat(daily.next()).isEqualTo(start.plus(3, ChronoUnit.DAYS));
+		assertThat(daily.peekNextAfter(null)).isEqualTo(start.plus(2, ChronoUnit.DAYS));
+	}
+
+	@Test
+	void testDenseExclusionsSeekInsteadOfStepping() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 1, 0, 0));
+		TimePointSequence everyMinute = TimePointSequence.builder().startingPoint(start.minus(1, ChronoUnit.MINUTES))
+				.cycleUnit(ChronoUnit.MINUTES).build();
+		TimePointSequence weekly = TimePointSequence.builder().startingPoint(start).cycleUnit(ChronoUnit.WEEKS)
+				.maximumPointCount(520L).includedChildSequence(TimePointSequence.builder().startingPoint(start.plus(30, ChronoUnit.SECONDS))
+						.cycleUnit(ChronoUnit.WEEKS).maximumPointCount(520L).build())
+				.excludedChildSequence(everyMinute).build();
+		// Eleven months of seven minute points before the parent starts; 04:00 is the first hour on one
+		TimePointSequence everySevenMinutes = TimePointSequence.builder().startingPoint(start.minus(330, ChronoUnit.DAYS))
+				.cycleCount(7L).cycleUnit(ChronoUnit.MINUTES).build();
+		TimePointSequence hourly = TimePointSequence.builder().startingPoint(start).cycleUnit(ChronoUnit.HOURS)
+				.excludedChildSequence(everySevenMinutes).build();
+
+		List<TimePoint> points = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> weekly.stream().collect(Collectors.toList()));
+		assertThat(points).hasSize(520).allMatch(point -> point.toLocalDateTime().getSecond() == 30);
+		assertThat(assertTimeoutPreemptively(Duration.ofSeconds(1), () -> hourly.next())).isEqualTo(start);
+		assertThat(everySevenMinutes.getCurrentPoint()).isEqualTo(start.minus(5, ChronoUnit.MINUTES));
+		assertThat(everySevenMinutes.getCurrentPointCount()).isEqualTo(330L * 24 * 60 / 7 + 1);
+		assertThat(hourly.dump(4L))
+				.isEqualTo("[2024-01-01T01:00:00, 2024-01-01T02:00:00, 2024-01-01T03:00:00, 2024-01-01T05:00:00]");
+	}
+
+	@Test
+	void testExcludedChildStopsAtItsMaximum() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 1, 0, 0));
+		TimePointSequence firstThreeDays = TimePointSequence.builder().startingPoint(start).maximumPointCount(3L).build();
+		TimePointSequence everyTwelveHours = TimePointSequence.builder().startingPoint(start).cycleCount(12L)
+				.cycleUnit(ChronoUnit.HOURS).excludedChildSequence(firstThreeDays)
+				.dateTimeFormatter(DateTimeFormatter.ofPattern("MM-dd HH")).build();
+
+		assertThat(everyTwelveHours.dump(6L)).isEqualTo("[01-01 12, 01-02 12, 01-03 12, 01-04 00, 01-04 12, 01-05 00]");
+		assertThat(firstThreeDays.getCurrentPointCount()).isEqualTo(3L);
+	}
+
+	@Test
+	void testWeekdaysExcludedFromDaily() {
+		TimePoint monday = TimePoint.from(LocalDateTime.of(2024, 1, 1, 9, 0));
+		TimePointSequence.Builder builder = TimePointSequence.builder().startingPoint(monday);
+		for (int day = 0; day < 5; day++) {
+			builder.excludedChildSequence(TimePointSequence.builder()
+					.startingPoint(monday.plus(day, ChronoUnit.DAYS))
+					.cycleCount(1L)
+					.cycleUnit(ChronoUnit.WEEKS)
+					.build());
+		}
+		TimePointSequence weekends = builder.dateTimeFormatter(DateTimeFormatter.ISO_LOCAL_DATE).build();
+		assertThat(weekends.dump(5L)).isEqualTo("[2024-01-06, 2024-01-07, 2024-01-13, 2024-01-14, 2024-01-20]");
+	}
+
+	@Test
+	void testEpochStreamAdvancesSequence() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 1, 0, 0));
+		TimePointSequence hourly = TimePointSequence.builder().startingPoint(start).cycleCount(1L)
+				.cycleUnit(ChronoUnit.HOURS).build();
+
+		assertThat(hourly.epochStream(EpochUnit.MILLIS).limit(3).toArray()).containsExactly(start.toEpochMilli(),
+				start.toEpochMilli() + 3_600_000L, start.toEpochMilli() + 7_200_000L);
+		assertThat(hourly.epochStream(EpochUnit.SECONDS).findFirst().getAsLong())
+				.isEqualTo(start.plus(3, ChronoUnit.HOURS).toEpochSecond());
+		assertThat(hourly.getCurrentPointCount()).isEqualTo(4L);
+	}
+
+	@Test
+	void testSizedSpliteratorSplitsByIndex() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2000, 1, 31, 9, 0));
+		TimePointSequence monthly = TimePointSequence.builder().startingPoint(start).cycleCount(1L)
+				.cycleUnit(ChronoUnit.MONTHS).maximumPointCount(10_000L).build();
+		monthly.next();
+
+		Spliterator<TimePoint> spliterator = monthly.spliterator();
+		assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED
+				| Spliterator.DISTINCT | Spliterator.IMMUTABLE)).isTrue();
+		assertThat(spliterator.estimateSize()).isEqualTo(9_999L);
+		Spliterator<TimePoint> prefix = spliterator.trySplit();
+		assertThat(prefix.estimateSize() + spliterator.estimateSize()).isEqualTo(9_999L);
+
+		List<TimePoint> parallelPoints = monthly.parallelStream().collect(Collectors.toList());
+		assertThat(monthly.getCurrentPointCount()).isEqualTo(1L);
+		List<TimePoint> sequentialPoints = monthly.stream().collect(Collectors.toList());
+		assertThat(parallelPoints).hasSize(9_999).isEqualTo(sequentialPoints);
+	}
+
+	@Test
+	void testSpliteratorBoundedByEndingPoint() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 1, 0, 0));
+		TimePointSequence backwards = TimePointSequence.builder().startingPoint(start).cycleCount(90L)
+				.cycleUnit(ChronoUnit.MINUTES).incrementing(false).endingPoint(start.minus(30, ChronoUnit.DAYS)).build();
+
+		assertThat(backwards.spliterator().estimateSize()).isEqualTo(481L);
+		assertThat(backwards.parallelStream().collect(Collectors.toList()))
+				.isEqualTo(backwards.stream().collect(Collectors.toList()));
+	}
+
+	@Test
+	void testSpliteratorWithChildrenDoesNotAdvance() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 1, 0, 0));
+		TimePointSequence weekends = TimePointSequence.builder().startingPoint(start, 1, DayOfWeek.SATURDAY)
+				.cycleCount(7L).cycleUnit(ChronoUnit.DAYS).build();
+		TimePointSequence days = TimePointSequence.builder().startingPoint(start).maximumPointCount(20L)
+				.excludedChildSequence(weekends).build();
+
+		assertThat(days.spliterator().hasCharacteristics(Spliterator.SIZED)).isFalse();
+		List<TimePoint> parallelPoints = days.parallelStream().collect(Collectors.toList());
+		assertThat(days.getCurrentPoint()).isNull();
+		assertThat(parallelPoints).isEqualTo(days.stream().collect(Collectors.toList()));
+	}
+
+	@Test
+	void testAdjusterAppliedToEveryNativePoint() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 1, 9, 0));
+		TimePointSequence secondTuesdays = TimePointSequence.builder().startingPoint(start).cycleCount(1L)
+				.cycleUnit(ChronoUnit.MONTHS).adjuster(TemporalAdjusters.dayOfWeekInMonth(2, DayOfWeek.TUESDAY))
+				.dateTimeFormatter(DateTimeFormatter.ISO_LOCAL_DATE).build();
+
+		assertThat(secondTuesdays.dump(3L)).isEqualTo("[2024-01-09, 2024-02-13, 2024-03-12]");
+		assertThat(secondTuesdays.peekNextAfter(TimePoint.from(LocalDateTime.of(2124, 5, 14, 9, 0))))
+				.isEqualTo(TimePoint.from(LocalDateTime.of(2124, 6, 13, 9, 0)));
+		assertThat(secondTuesdays.peekNextAfter(TimePoint.from(LocalDateTime.of(2124, 5, 9, 8, 0))))
+				.isEqualTo(TimePoint.from(LocalDateTime.of(2124, 5, 9, 9, 0)));
+		assertThatThrownBy(() -> TimePointSequence.builder().startingPoint(start).cycleCount(0L)
+				.adjuster(TemporalAdjusters.firstDayOfMonth()).build()).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testAdjusterMustKeepPointsInTheirCyclePeriods() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 1, 0, 0));
+		assertThatThrownBy(() -> TimePointSequence.builder().startingPoint(start).cycleCount(1L).cycleUnit(ChronoUnit.MONTHS)
+				.adjuster(TemporalAdjusters.firstDayOfYear()).maximumPointCount(24L).build())
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> TimePointSequence.builder().startingPoint(start).cycleCount(1L).cycleUnit(ChronoUnit.DAYS)
+				.adjuster(TemporalAdjusters.next(DayOfWeek.MONDAY)).build()).isInstanceOf(IllegalArgumentException.class);
+
+		TimePointSequence backwards = TimePointSequence.builder().startingPoint(TimePoint.from(LocalDateTime.of(2024, 3, 1, 0, 0)))
+				.cycleCount(1L).cycleUnit(ChronoUnit.YEARS).incrementing(false)
+				.adjuster(TemporalAdjusters.dayOfWeekInMonth(2, DayOfWeek.SUNDAY))
+				.dateTimeFormatter(DateTimeFormatter.ISO_LOCAL_DATE).build();
+		assertThat(backwards.dump(3L)).isEqualTo("[2024-03-10, 2023-03-12, 2022-03-13]");
+	}
+
+	@Test
+	void testCountMatchesIteration() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 1, 0, 0));
+		Supplier<TimePointSequence> workHours = () -> {
+			TimePointSequence weekends = TimePointSequence.builder().startingPoint(start, 1, DayOfWeek.SATURDAY)
+					.cycleCount(1L).cycleUnit(ChronoUnit.WEEKS)
+					.includedChildSequence(TimePointSequence.builder().startingPoint(start, 1, DayOfWeek.SUNDAY)
+							.cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).build())
+					.build();
+			TimePointSequence everyNinetyMinutes = TimePointSequence.builder().startingPoint(start.plus(30, ChronoUnit.MINUTES))
+					.cycleCount(90L).cycleUnit(ChronoUnit.MINUTES).endingPoint(start.plus(20, ChronoUnit.DAYS)).build();
+			TimePointSequence firstOfMonth = TimePointSequence.builder().startingPoint(start).cycleCount(1L)
+					.cycleUnit(ChronoUnit.MONTHS).build();
+			return TimePointSequence.builder().startingPoint(start).cycleCount(1L).cycleUnit(ChronoUnit.HOURS)
+					.includedChildSequence(everyNinetyMinutes).excludedChildSequence(weekends)
+					.excludedChildSequence(firstOfMonth).build();
+		};
+		TimePoint[] limits = { start.plus(5, ChronoUnit.HOURS), start.plus(6, ChronoUnit.DAYS),
+				start.plus(33, ChronoUnit.DAYS).plus(7, ChronoUnit.MINUTES), start.plus(80, ChronoUnit.DAYS) };
+
+		for (TimePoint limit : limits) {
+			assertThat(workHours.get().countUntil(limit)).isEqualTo(countByIterating(workHours.get(), null, limit));
+			assertThat(workHours.get().countBetween(limits[1], limit))
+					.isEqualTo(countByIterating(workHours.get(), limits[1], limit));
+		}
+
+		TimePointSequence partlyIterated = workHours.get();
+		partlyIterated.setMaximumPointCount(1_000L);
+		for (int i = 0; i < 100; i++) {
+			partlyIterated.next();
+		}
+		long expected = countByIterating(partlyIterated.copy(), limits[1], limits[3]);
+		assertThat(partlyIterated.countBetween(limits[1], limits[3])).isEqualTo(expected);
+		assertThat(partlyIterated.countUntil(limits[3])).isEqualTo(900L);
+		assertThat(partlyIterated.getCurrentPointCount()).isEqualTo(100L);
+	}
+
+	@Test
+	void testCountCalendarAndDecrementingCycles() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 31, 12, 0));
+		Supplier<TimePointSequence> monthEndsExceptQuarters = () -> TimePointSequence.builder().startingPoint(start)
+				.cycleCount(1L).cycleUnit(ChronoUnit.MONTHS)
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(start.plus(2, ChronoUnit.MONTHS))
+						.cycleCount(3L).cycleUnit(ChronoUnit.MONTHS).build())
+				.build();
+		TimePoint end = start.plus(40, ChronoUnit.YEARS);
+		assertThat(monthEndsExceptQuarters.get().countUntil(end)).isEqualTo(countByIterating(monthEndsExceptQuarters.get(), null, end));
+
+		Supplier<TimePointSequence> backwards = () -> TimePointSequence.builder().startingPoint(start).cycleCount(6L)
+				.cycleUnit(ChronoUnit.HOURS).incrementing(false)
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(start).cycleCount(1L)
+						.cycleUnit(ChronoUnit.DAYS).incrementing(false).maximumPointCount(5L).build())
+				.build();
+		TimePoint rangeStart = start.minus(30, ChronoUnit.DAYS);
+		TimePoint rangeEnd = start.minus(2, ChronoUnit.DAYS);
+		assertThat(backwards.get().countBetween(rangeStart, rangeEnd))
+				.isEqualTo(countByIterating(backwards.get(), rangeStart, rangeEnd));
+		assertThat(backwards.get().countUntil(rangeStart))
+				.isEqualTo(countByIterating(backwards.get(), rangeStart.plus(1, ChronoUnit.NANOS), start.plus(1, ChronoUnit.DAYS)));
+	}
+
+	@Test
+	void testCountIsArithmeticForDistantLimits() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2000, 1, 1, 0, 0));
+		TimePointSequence everyMinute = TimePointSequence.builder().startingPoint(start).cycleCount(1L)
+				.cycleUnit(ChronoUnit.MINUTES)
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(start).cycleCount(7L)
+						.cycleUnit(ChronoUnit.MINUTES).build())
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(start).cycleCount(11L)
+						.cycleUnit(ChronoUnit.MINUTES).build())
+				.build();
+		long minutes = 1_000L * 366 * 24 * 60;
+		TimePoint end = start.plus(minutes, ChronoUnit.MINUTES);
+
+		long multiplesOfSeven = (minutes + 6) / 7;
+		long multiplesOfEleven = (minutes + 10) / 11;
+		long multiplesOfBoth = (minutes + 76) / 77;
+		assertThat(everyMinute.countUntil(end)).isEqualTo(minutes - multiplesOfSeven - multiplesOfEleven + multiplesOfBoth);
+	}
+
+	@Test
+	void testOccurrenceOfNativeCycles() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 31, 9, 0));
+		TimePointSequence everyNinetyMinutes = TimePointSequence.builder().startingPoint(start).cycleCount(90L)
+				.cycleUnit(ChronoUnit.MINUTES).build();
+		TimePoint distantPoint = start.plus(900_000L, ChronoUnit.MINUTES);
+
+		assertThat(everyNinetyMinutes.occurrence(10_000L)).isEqualTo(distantPoint);
+		assertThat(everyNinetyMinutes.indexOf(distantPoint)).isEqualTo(10_000L);
+		assertThat(everyNinetyMinutes.indexOf(distantPoint.plus(1, ChronoUnit.MINUTES))).isEqualTo(-1L);
+		assertThat(everyNinetyMinutes.indexOf(start.minus(90, ChronoUnit.MINUTES))).isEqualTo(-1L);
+		assertThat(everyNinetyMinutes.getCurrentPoint()).isNull();
+
+		TimePointSequence monthEnds = TimePointSequence.builder().startingPoint(start).cycleCount(1L)
+				.cycleUnit(ChronoUnit.MONTHS).maximumPointCount(5L).build();
+		TimePoint leapDay = TimePoint.from(LocalDateTime.of(2024, 2, 29, 9, 0));
+		assertThat(monthEnds.occurrence(1L)).isEqualTo(leapDay);
+		assertThat(monthEnds.indexOf(leapDay)).isEqualTo(1L);
+		assertThat(monthEnds.occurrence(4L)).isEqualTo(TimePoint.from(LocalDateTime.of(2024, 5, 31, 9, 0)));
+		assertThat(monthEnds.occurrence(5L)).isNull();
+		assertThat(monthEnds.indexOf(TimePoint.from(LocalDateTime.of(2024, 6, 30, 9, 0)))).isEqualTo(-1L);
+		assertThatThrownBy(() -> monthEnds.occurrence(-1L)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testOccurrenceWithChildren() {
+		TimePoint monday = TimePoint.from(LocalDateTime.of(2024, 1, 1, 9, 0));
+		Supplier<TimePointSequence> weekdays = () -> TimePointSequence.builder().startingPoint(monday)
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(monday, 1, DayOfWeek.SATURDAY)
+						.cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).maximumPointCount(2_000L)
+						.includedChildSequence(TimePointSequence.builder().startingPoint(monday, 1, DayOfWeek.SUNDAY)
+								.cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).build())
+						.build())
+				.build();
+		List<TimePoint> expected = weekdays.get().stream().limit(3_000L).collect(Collectors.toList());
+		TimePointSequence indexed = weekdays.get();
+		indexed.next();
+		indexed.next();
+
+		for (int index : new int[] { 2_999, 0, 1, 1_023, 1_024, 1_025, 2_048 }) {
+			assertThat(indexed.occurrence(index)).isEqualTo(expected.get(index));
+			assertThat(indexed.indexOf(expected.get(index))).isEqualTo(index);
+		}
+		assertThat(indexed.indexOf(TimePoint.from(LocalDateTime.of(2030, 6, 1, 9, 0)))).isEqualTo(-1L);
+		assertThat(indexed.indexOf(TimePoint.from(LocalDateTime.of(2030, 6, 3, 10, 0)))).isEqualTo(-1L);
+		assertThat(indexed.getCurrentPointCount()).isEqualTo(2L);
+
+		TimePointSequence countable = TimePointSequence.builder().startingPoint(monday)
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(monday, 1, DayOfWeek.SATURDAY)
+						.cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).build())
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(monday, 1, DayOfWeek.SUNDAY)
+						.cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).build())
+				.build();
+		assertThat(countable.indexOf(expected.get(2_999))).isEqualTo(2_999L);
+		assertThat(countable.indexOf(TimePoint.from(LocalDateTime.of(2030, 6, 1, 9, 0)))).isEqualTo(-1L);
+	}
+
+	@Test
+	void testNextBatchMatchesNext() {
+		TimePoint start = TimePoint.from(LocalDateTime.of(2024, 1, 1, 0, 0));
+		TimePointSequence everyThreeHours = TimePointSequence.builder().startingPoint(start).cycleCount(3L)
+				.cycleUnit(ChronoUnit.HOURS).endingPoint(start.plus(2, ChronoUnit.DAYS)).build();
+		long[] expected = everyThreeHours.copy().epochStream(EpochUnit.SECONDS).toArray();
+		long[] batch = new long[20];
+
+		assertThat(everyThreeHours.nextBatch(batch, 2, 10, EpochUnit.SECONDS)).isEqualTo(10);
+		assertThat(Arrays.copyOfRange(batch, 2, 12)).containsExactly(Arrays.copyOfRange(expected, 0, 10));
+		assertThat(everyThreeHours.getCurrentPointCount()).isEqualTo(10L);
+		assertThat(everyThreeHours.next()).isEqualTo(start.plus(30, ChronoUnit.HOURS));
+		assertThat(everyThreeHours.nextBatch(batch, 0, 20, EpochUnit.SECONDS)).isEqualTo(6);
+		assertThat(Arrays.copyOfRange(batch, 0, 6)).containsExactly(Arrays.copyOfRange(expected, 11, 17));
+		assertThat(everyThreeHours.nextBatch(batch, 0, 20, EpochUnit.SECONDS)).isZero();
+		assertThatThrownBy(() -> everyThreeHours.nextBatch(batch, 15, 10, EpochUnit.SECONDS))
+				.isInstanceOf(IndexOutOfBoundsException.class);
+
+		TimePointSequence weekdays = TimePointSequence.builder().startingPoint(start).maximumPointCount(12L)
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(start, 1, DayOfWeek.SATURDAY)
+						.cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).build())
+				.excludedChildSequence(TimePointSequence.builder().startingPoint(start, 1, DayOfWeek.SUNDAY)
+						.cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).build())
+				.build();
+		long[] expectedDays = weekdays.copy().epochStream(EpochUnit.DAYS).toArray();
+		assertThat(weekdays.nextBatch(batch, 0, 20, EpochUnit.DAYS)).isEqualTo(12);
+		assertThat(Arrays.copyOfRange(batch, 0, 12)).containsExactly(expectedDays);
+		assertThat(weekdays.hasNext()).isFalse();
+	}
+
+	private static long countByIterating(TimePointSequence sequence, TimePoint startPoint, TimePoint endPoint) {
+		long count = 0;
+		while (sequence.hasNext()) {
+			TimePoint point = sequence.next();
+			boolean afterStart = startPoint == null || !point.isBefore(startPoint);
+			if (afterStart && point.isBefore(endPoint)) {
+				count++;
+			} else if (sequence.getIncrementing() ? !point.isBefore(endPoint) : point.isBefore(startPoint)) {
+				break;
+			}
+		}
+		return count;
+	}
+
 }
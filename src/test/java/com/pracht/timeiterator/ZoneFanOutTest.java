@@ -0,0 +1,87 @@
+package com.pracht.timeiterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.pracht.timeiterator.model.TimePoint;
+
+public class ZoneFanOutTest {
+
+	@Test
+	void testMatchesZonedDateTimePerZoneMergedByInstant() {
+		List<ZoneId> zones = ZoneId.getAvailableZoneIds().stream().sorted().map(ZoneId::of).collect(Collectors.toList());
+		zones.add(ZoneId.of("America/New_York"));
+		// Every half hour through the spring and autumn changes, so points fall in gaps and overlaps
+		TimePointSequence localSchedule = TimePointSequence.builder().startingPoint(TimePoint.from(LocalDateTime.of(2024, 3, 9, 0, 0)))
+				.cycleCount(30L).cycleUnit(ChronoUnit.MINUTES).maximumPointCount(48L * 4).build();
+		ZoneFanOut fanOut = ZoneFanOut.of(localSchedule, zones);
+
+		List<TimePoint> expected = new ArrayList<>();
+		List<long[]> order = new ArrayList<>();
+		TimePointSequence walker = localSchedule.copy();
+		for (long localIndex = 0; walker.hasNext(); localIndex++) {
+			LocalDateTime local = walker.next().toLocalDateTime();
+			for (int zoneIndex = 0; zoneIndex < zones.size(); zoneIndex++) {
+				ZonedDateTime zoned = local.atZone(zones.get(zoneIndex));
+				expected.add(TimePoint.from(zoned));
+				order.add(new long[] { zoned.toInstant().getEpochSecond(), localIndex, zoneIndex });
+			}
+		}
+		List<Integer> positions = new ArrayList<>();
+		for (int i = 0; i < order.size(); i++) {
+			positions.add(i);
+		}
+		positions.sort(Comparator.comparingLong((Integer i) -> order.get(i)[0]).thenComparingLong(i -> order.get(i)[1])
+				.thenComparingLong(i -> order.get(i)[2]));
+
+		List<TimePoint> actual = new ArrayList<>();
+		fanOut.forEachRemaining(actual::add);
+
+		assertThat(actual).containsExactlyElementsOf(positions.stream().map(expected::get).collect(Collectors.toList()));
+		assertThat(fanOut.getRulesCount()).isLessThan(zones.size());
+		assertThat(localSchedule.getCurrentPoint()).isNull();
+	}
+
+	@Test
+	void testWeekdayScheduleAcrossYears() {
+		TimePointSequence weekdays = TimePointSequence.builder().startingPoint(TimePoint.from(LocalDateTime.of(2020, 1, 6, 9, 0)))
+				.cycleCount(1L).cycleUnit(ChronoUnit.DAYS).build();
+		weekdays.getExcludedChildSequences().add(TimePointSequence.builder()
+				.startingPoint(TimePoint.from(LocalDateTime.of(2020, 1, 4, 9, 0))).cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).build());
+		weekdays.getExcludedChildSequences().add(TimePointSequence.builder()
+				.startingPoint(TimePoint.from(LocalDateTime.of(2020, 1, 5, 9, 0))).cycleCount(1L).cycleUnit(ChronoUnit.WEEKS).build());
+		List<ZoneId> zones = List.of(ZoneId.of("Pacific/Kiritimati"), ZoneId.of("Europe/London"), ZoneId.of("Pacific/Pago_Pago"));
+		ZoneFanOut fanOut = ZoneFanOut.of(weekdays.toDefinition(), zones);
+
+		TimePoint previous = null;
+		for (int i = 0; i < 3 * 261 * 12; i++) {
+			TimePoint point = fanOut.next();
+			assertThat(point.toLocalDateTime().getHour()).isEqualTo(9);
+			assertThat(point.getDayOfWeek().getValue()).isLessThanOrEqualTo(5);
+			if (previous != null) {
+				assertThat(point.isBefore(previous)).isFalse();
+			}
+			previous = point;
+		}
+		// Past the ten years the first tables cover
+		assertThat(previous.toLocalDateTime().getYear()).isGreaterThan(2030);
+	}
+
+	@Test
+	void testRejectsZonedSchedules() {
+		TimePointSequence zoned = TimePointSequence.builder().startingPoint(TimePoint.from(ZonedDateTime.now())).build();
+
+		assertThatThrownBy(() -> ZoneFanOut.of(zoned, List.of(ZoneId.of("UTC")))).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -2,9 +2,12 @@ package com.pracht.timeiterator.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -145,4 +148,68 @@ public class TimePointTest {
         
         assertThat(tp.toLocalDateTime()).isEqualTo(LocalDateTime.of(2023, 12, 1, 0, 0));
     }
+
+    @Test
+    void testLocalArithmeticMatchesLocalDateTime() {
+        LocalDateTime ldt = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000);
+        TimePoint tp = TimePoint.from(ldt);
+        for (ChronoUnit unit : new ChronoUnit[] { ChronoUnit.NANOS, ChronoUnit.MICROS, ChronoUnit.MILLIS, ChronoUnit.SECONDS,
+                ChronoUnit.HOURS, ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS }) {
+            for (long amount : new long[] { -1_000_001L, -7L, 1L, 1_500L, 123_456_789L }) {
+                if (unit.compareTo(ChronoUnit.DAYS) >= 0 && Math.abs(amount) > 1_000_000L) {
+                    continue;
+                }
+                assertThat(tp.plus(amount, unit).toLocalDateTime()).isEqualTo(ldt.plus(amount, unit));
+                assertThat(tp.minus(amount, unit).toLocalDateTime()).isEqualTo(ldt.minus(amount, unit));
+            }
+        }
+    }
+
+    @Test
+    void testZonedArithmeticMatchesZonedDateTimeAcrossTransitions() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        ZonedDateTime zdt = ZonedDateTime.of(2024, 3, 9, 1, 30, 0, 0, zone);
+        TimePoint tp = TimePoint.from(zdt);
+        for (int step = 0; step < 48; step++) {
+            assertThat(tp.plus(step, ChronoUnit.HOURS)).isEqualTo(TimePoint.from(zdt.plusHours(step)));
+            assertThat(tp.plus(step * 30L, ChronoUnit.MINUTES).toZonedDateTime()).isEqualTo(zdt.plusMinutes(step * 30L));
+        }
+        assertThat(tp.plus(1, ChronoUnit.DAYS).toZonedDateTime()).isEqualTo(zdt.plusDays(1));
+        assertThat(tp.plus(239, ChronoUnit.DAYS).toZonedDateTime()).isEqualTo(zdt.plusDays(239));
+        assertThat(tp.plus(1, ChronoUnit.MONTHS).toZonedDateTime()).isEqualTo(zdt.plusMonths(1));
+    }
+
+    @Test
+    void testComparisonAndDayOfWeek() {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        TimePoint utcNoon = TimePoint.from(ZonedDateTime.of(2024, 7, 1, 12, 0, 0, 0, ZoneId.of("UTC")));
+        TimePoint newYorkNineAm = TimePoint.from(ZonedDateTime.of(2024, 7, 1, 9, 0, 0, 0, newYork));
+        assertThat(newYorkNineAm.isAfter(utcNoon)).isTrue();
+        assertThat(utcNoon.isBefore(newYorkNineAm)).isTrue();
+        // A local point is compared with the local part of a zoned point
+        assertThat(TimePoint.from(LocalDateTime.of(2024, 7, 1, 10, 0)).isAfter(newYorkNineAm)).isTrue();
+
+        assertThat(TimePoint.from(LocalDateTime.of(1969, 12, 28, 23, 0)).getDayOfWeek()).isEqualTo(DayOfWeek.SUNDAY);
+        assertThat(TimePoint.from(LocalDateTime.of(2024, 7, 1, 0, 0)).getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(TimePoint.from(ZonedDateTime.of(2024, 7, 1, 23, 0, 0, 0, newYork)).getDayOfWeek())
+                .isEqualTo(DayOfWeek.MONDAY);
+    }
+
+    @Test
+    void testEpochValues() {
+        LocalDateTime ldt = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 250_000_000);
+        TimePoint local = TimePoint.from(ldt);
+        assertThat(local.toEpochSecond()).isEqualTo(ldt.toEpochSecond(ZoneOffset.UTC));
+        assertThat(local.toEpochMilli()).isEqualTo(ldt.toInstant(ZoneOffset.UTC).toEpochMilli());
+        assertThat(local.toEpochDay()).isEqualTo(-1L);
+
+        ZonedDateTime zdt = ZonedDateTime.of(2024, 7, 1, 22, 0, 0, 0, ZoneId.of("America/New_York"));
+        TimePoint zoned = TimePoint.from(zdt);
+        assertThat(zoned.toEpochSecond()).isEqualTo(zdt.toEpochSecond());
+        assertThat(zoned.toEpochMilli()).isEqualTo(zdt.toInstant().toEpochMilli());
+        // The epoch day follows the local date, not the UTC date of the instant
+        assertThat(zoned.toEpochDay()).isEqualTo(zdt.toLocalDate().toEpochDay());
+        assertThat(EpochUnit.MILLIS.of(zoned)).isEqualTo(zoned.toEpochMilli());
+    }
+
 }
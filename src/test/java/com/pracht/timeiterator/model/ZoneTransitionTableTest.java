@@ -0,0 +1,95 @@
+package com.pracht.timeiterator.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ZoneTransitionTableTest {
+
+    private static final ChronoUnit[] UNITS = { ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.HALF_DAYS, ChronoUnit.DAYS,
+            ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS };
+
+    @Test
+    void testArithmeticMatchesZonedDateTime() {
+        Random random = new Random(3);
+        for (String zoneId : new String[] { "America/New_York", "Europe/Dublin", "Australia/Lord_Howe" }) {
+            ZoneId zone = ZoneId.of(zoneId);
+            long from = LocalDateTime.of(2020, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+            long to = LocalDateTime.of(2030, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+            ZoneTransitionTable transitions = ZoneTransitionTable.of(zone, from, to);
+            assertThat(transitions.size()).isEqualTo(20);
+
+            for (int i = 0; i < 5_000; i++) {
+                // Start a little before a transition often enough to land in gaps and overlaps
+                ZonedDateTime start = ZonedDateTime.of(2021 + random.nextInt(7), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                        random.nextInt(24), random.nextInt(4) * 15, 0, 0, zone);
+                if (random.nextBoolean()) {
+                    start = start.withLaterOffsetAtOverlap();
+                }
+                ChronoUnit unit = UNITS[random.nextInt(UNITS.length)];
+                long amount = random.nextInt(200) - 100;
+                TimePoint point = TimePoint.from(start);
+
+                assertThat(point.plus(amount, unit, transitions)).as("%s plus %d %s", start, amount, unit)
+                        .isEqualTo(TimePoint.from(start.plus(amount, unit)));
+                assertThat(point.minus(amount, unit, transitions)).isEqualTo(TimePoint.from(start.minus(amount, unit)));
+            }
+        }
+    }
+
+    @Test
+    void testGapsAndOverlapsResolveLikeZonedDateTime() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        ZoneTransitionTable transitions = ZoneTransitionTable.of(zone, 1_700_000_000L, 1_800_000_000L);
+        // 2024-03-10 02:30 does not exist; 2024-11-03 01:30 exists twice
+        ZonedDateTime beforeGap = ZonedDateTime.of(2024, 3, 9, 2, 30, 0, 0, zone);
+        ZonedDateTime laterOverlap = ZonedDateTime.of(2024, 11, 3, 1, 30, 0, 0, zone).withLaterOffsetAtOverlap();
+        ZonedDateTime dayBefore = ZonedDateTime.of(2024, 11, 2, 1, 30, 0, 0, zone);
+
+        assertThat(TimePoint.from(beforeGap).plus(1, ChronoUnit.DAYS, transitions).toZonedDateTime())
+                .isEqualTo(beforeGap.plusDays(1));
+        assertThat(TimePoint.from(laterOverlap).plus(0, ChronoUnit.DAYS, transitions).toZonedDateTime().getOffset())
+                .isEqualTo(ZoneOffset.ofHours(-5));
+        assertThat(TimePoint.from(laterOverlap).plus(1, ChronoUnit.HOURS, transitions).toZonedDateTime())
+                .isEqualTo(laterOverlap.plusHours(1));
+        assertThat(TimePoint.from(dayBefore).plus(1, ChronoUnit.DAYS, transitions).toZonedDateTime())
+                .isEqualTo(dayBefore.plusDays(1));
+        assertThat(transitions.offsetAt(laterOverlap.toEpochSecond())).isEqualTo(ZoneOffset.ofHours(-5));
+    }
+
+    @Test
+    void testOutsideTheWindowFallsBackToTheZoneRules() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        ZoneTransitionTable transitions = ZoneTransitionTable.of(zone, 1_700_000_000L, 1_710_000_000L);
+        ZonedDateTime start = ZonedDateTime.of(2024, 3, 1, 12, 0, 0, 0, zone);
+
+        assertThat(transitions.offsetAt(1_800_000_000L)).isNull();
+        assertThat(TimePoint.from(start).plus(400, ChronoUnit.DAYS, transitions))
+                .isEqualTo(TimePoint.from(start.plusDays(400)));
+        assertThat(TimePoint.from(start).plus(1, ChronoUnit.DAYS, ZoneTransitionTable.of(ZoneId.of("Europe/Paris"), 0L, 1L)))
+                .isEqualTo(TimePoint.from(start.plusDays(1)));
+        assertThat(ZoneTransitionTable.of(ZoneOffset.ofHours(2), 0L, 1L).offsetAt(Long.MAX_VALUE - 1))
+                .isEqualTo(ZoneOffset.ofHours(2));
+    }
+
+    @Test
+    void testAliasesShareATableAndLocalPointsResolveLikeAtZone() {
+        ZoneTransitionTable newYork = ZoneTransitionTable.of(ZoneId.of("America/New_York"), 1_700_000_000L, 1_800_000_000L);
+        ZoneTransitionTable eastern = newYork.withZone(ZoneId.of("US/Eastern"));
+        LocalDateTime inGap = LocalDateTime.of(2024, 3, 10, 2, 30);
+        LocalDateTime inOverlap = LocalDateTime.of(2024, 11, 3, 1, 30);
+
+        assertThat(eastern.getZone()).isEqualTo(ZoneId.of("US/Eastern"));
+        assertThat(TimePoint.from(inGap).atZone(eastern)).isEqualTo(TimePoint.from(inGap.atZone(ZoneId.of("US/Eastern"))));
+        assertThat(TimePoint.from(inOverlap).atZone(eastern)).isEqualTo(TimePoint.from(inOverlap.atZone(ZoneId.of("US/Eastern"))));
+        assertThatThrownBy(() -> newYork.withZone(ZoneId.of("America/Chicago"))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
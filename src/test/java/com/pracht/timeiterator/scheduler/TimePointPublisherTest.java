@@ -0,0 +1,149 @@
+package com.pracht.timeiterator.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.pracht.timeiterator.TimePointSequence;
+import com.pracht.timeiterator.model.EventRelationship;
+import com.pracht.timeiterator.model.TimePoint;
+
+public class TimePointPublisherTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	@Test
+	void testGeneratesOnlyWhatIsRequested() {
+		TimePointSequence everyMinute = sequence(TimePoint.from(START), ChronoUnit.MINUTES, null);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		TimePointPublisher.of(everyMinute).subscribe(subscriber);
+
+		assertThat(subscriber.points).isEmpty();
+		subscriber.subscription.request(3);
+		assertThat(subscriber.points).containsExactly(TimePoint.from(START), TimePoint.from(START.plusMinutes(1)),
+				TimePoint.from(START.plusMinutes(2)));
+		assertThat(everyMinute.getCurrentPointCount()).isEqualTo(3L);
+
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(5);
+		assertThat(subscriber.points).hasSize(3);
+		assertThat(everyMinute.getCurrentPointCount()).isEqualTo(3L);
+		assertThat(subscriber.completed.getCount()).isEqualTo(1L);
+	}
+
+	@Test
+	void testCompletesAndRejectsSecondSubscriber() {
+		TimePointSequence fivePoints = sequence(TimePoint.from(START), ChronoUnit.DAYS, 5L);
+		TimePointPublisher publisher = TimePointPublisher.of(fivePoints);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(Long.MAX_VALUE);
+		subscriber.subscription.request(Long.MAX_VALUE);
+
+		assertThat(subscriber.points).hasSize(5);
+		assertThat(subscriber.completed.getCount()).isZero();
+
+		RecordingSubscriber second = new RecordingSubscriber();
+		publisher.subscribe(second);
+		assertThat(second.error).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void testDefinitionPublisherIsColdAndValidatesRequests() {
+		TimePointPublisher publisher = TimePointPublisher.of(sequence(TimePoint.from(START), ChronoUnit.HOURS, null).toDefinition());
+		RecordingSubscriber first = new RecordingSubscriber();
+		RecordingSubscriber second = new RecordingSubscriber();
+		publisher.subscribe(first);
+		publisher.subscribe(second);
+
+		first.subscription.request(2);
+		second.subscription.request(1);
+		assertThat(first.points).containsExactly(TimePoint.from(START), TimePoint.from(START.plusHours(1)));
+		assertThat(second.points).containsExactly(TimePoint.from(START));
+
+		second.subscription.request(0);
+		assertThat(second.error).isInstanceOf(IllegalArgumentException.class);
+		second.subscription.request(1);
+		assertThat(second.points).hasSize(1);
+	}
+
+	@Test
+	void testRealTimeWaitsForTheClock() throws InterruptedException {
+		ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+		try {
+			Clock clock = Clock.systemUTC();
+			Instant firstInstant = clock.instant().plusMillis(100).truncatedTo(ChronoUnit.MILLIS);
+			TimePoint first = TimePoint.from(LocalDateTime.ofInstant(firstInstant, ZoneOffset.UTC));
+			TimePointSequence threePoints = new TimePointSequence(first, ChronoUnit.MILLIS, 50L, 1L, ChronoUnit.DAYS,
+					EventRelationship.START_TO_START, null, 3L, null, null, DateTimeFormatter.ISO_LOCAL_DATE_TIME, true,
+					new LinkedList<>(), new LinkedList<>());
+			RecordingSubscriber subscriber = new RecordingSubscriber();
+			TimePointPublisher.of(threePoints).inRealTime(clock, timer).subscribe(subscriber);
+
+			subscriber.subscription.request(10);
+			assertThat(subscriber.points).isEmpty();
+			assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThat(subscriber.points).hasSize(3);
+			for (int i = 0; i < 3; i++) {
+				Instant due = subscriber.points.get(i).toZonedDateTime(ZoneOffset.UTC).toInstant();
+				assertThat(subscriber.receivedAt.get(i)).isAfterOrEqualTo(due);
+			}
+		} finally {
+			timer.shutdownNow();
+		}
+	}
+
+	private static TimePointSequence sequence(TimePoint start, ChronoUnit cycleUnit, Long maximumPointCount) {
+		return new TimePointSequence(start, cycleUnit, 1L, 1L, ChronoUnit.DAYS, EventRelationship.START_TO_START, null,
+				maximumPointCount, null, null, DateTimeFormatter.ISO_LOCAL_DATE_TIME, true, new LinkedList<>(), new LinkedList<>());
+	}
+
+	private static class RecordingSubscriber implements Flow.Subscriber<TimePoint> {
+		private final List<TimePoint> points = new CopyOnWriteArrayList<>();
+
+		private final List<Instant> receivedAt = new CopyOnWriteArrayList<>();
+
+		private final CountDownLatch completed = new CountDownLatch(1);
+
+		private Flow.Subscription subscription;
+
+		private volatile Throwable error;
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(TimePoint item) {
+			receivedAt.add(Instant.now());
+			points.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			completed.countDown();
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package com.pracht.timeiterator.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pracht.timeiterator.TimePointSequence;
+import com.pracht.timeiterator.model.EventRelationship;
+import com.pracht.timeiterator.model.TimePoint;
+
+public class TimingWheelSchedulerTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	private MutableClock clock;
+
+	private TimingWheelScheduler scheduler;
+
+	@BeforeEach
+	public void setupBeforeEach() {
+		clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+		scheduler = TimingWheelScheduler.of(clock, Duration.ofSeconds(1));
+	}
+
+	@Test
+	void testFiresPointsAsTheClockPassesThem() {
+		List<TimePoint> fired = new ArrayList<>();
+		ScheduledSequence scheduled = scheduler.register(sequence(START.plusMinutes(5), 10L, ChronoUnit.MINUTES, null), fired::add);
+
+		assertThat(scheduler.advance()).isZero();
+		clock.set(START.plusMinutes(5).minusNanos(1));
+		assertThat(scheduler.advance()).isZero();
+		clock.set(START.plusMinutes(5));
+		assertThat(scheduler.advance()).isEqualTo(1);
+		clock.set(START.plusMinutes(26));
+		assertThat(scheduler.advance()).isEqualTo(2);
+
+		assertThat(fired).containsExactly(point(START.plusMinutes(5)), point(START.plusMinutes(15)), point(START.plusMinutes(25)));
+		assertThat(scheduled.getNextFirePoint()).isEqualTo(point(START.plusMinutes(35)));
+		assertThat(scheduled.getSequence().getCurrentPointCount()).isEqualTo(3L);
+		assertThat(scheduler.nextWakeUp()).isBeforeOrEqualTo(START.plusMinutes(35).toInstant(ZoneOffset.UTC));
+	}
+
+	@Test
+	void testManySequencesFireInOrder() {
+		Random random = new Random(42);
+		List<TimePointSequence> sequences = new ArrayList<>();
+		List<List<TimePoint>> firedBySequence = new ArrayList<>();
+		List<TimePoint> firedInOrder = new ArrayList<>();
+		for (int i = 0; i < 2_000; i++) {
+			TimePointSequence sequence = sequence(START.plusSeconds(random.nextInt(7 * 86_400)), 1L + random.nextInt(600),
+					ChronoUnit.MINUTES, null);
+			List<TimePoint> fired = new ArrayList<>();
+			sequences.add(sequence);
+			firedBySequence.add(fired);
+			scheduler.register(sequence, point -> {
+				fired.add(point);
+				firedInOrder.add(point);
+			});
+		}
+
+		LocalDateTime now = START;
+		while (now.isBefore(START.plusDays(9))) {
+			now = now.plusSeconds(random.nextInt(random.nextBoolean() ? 90 : 40_000));
+			clock.set(now);
+			int firedBefore = firedInOrder.size();
+			int fired = scheduler.advance();
+			assertThat(firedInOrder.size() - firedBefore).isEqualTo(fired);
+			for (TimePoint point : firedInOrder.subList(firedBefore, firedInOrder.size())) {
+				assertThat(point.isAfter(point(now))).isFalse();
+			}
+		}
+
+		for (int i = 1; i < firedInOrder.size(); i++) {
+			assertThat(firedInOrder.get(i).isBefore(firedInOrder.get(i - 1))).isFalse();
+		}
+		for (int i = 0; i < sequences.size(); i++) {
+			TimePointSequence sequence = sequences.get(i);
+			List<TimePoint> expected = new ArrayList<>();
+			TimePointSequence replay = sequence(sequence.getStartingPoint().toLocalDateTime(), sequence.getCycleCount(),
+					sequence.getCycleUnit(), null);
+			while (!replay.peekNext().isAfter(point(now))) {
+				expected.add(replay.next());
+			}
+			assertThat(firedBySequence.get(i)).isEqualTo(expected);
+			assertThat(sequence.peekNext().isAfter(point(now))).isTrue();
+		}
+	}
+
+	@Test
+	void testLongJumpCatchesUp() {
+		List<TimePoint> fired = new ArrayList<>();
+		scheduler.register(sequence(START.plusYears(1), 1L, ChronoUnit.YEARS, null), fired::add);
+
+		clock.set(START.plusYears(1).minusSeconds(1));
+		assertThat(scheduler.advance()).isZero();
+		clock.set(START.plusYears(200));
+		assertThat(scheduler.advance()).isEqualTo(200);
+		assertThat(fired.get(199)).isEqualTo(point(START.plusYears(200)));
+	}
+
+	@Test
+	void testCancelAndEnd() {
+		List<TimePoint> fired = new ArrayList<>();
+		ScheduledSequence cancelled = scheduler.register(sequence(START.plusMinutes(1), 1L, ChronoUnit.MINUTES, null), fired::add);
+		ScheduledSequence limited = scheduler.register(sequence(START.plusMinutes(1), 1L, ChronoUnit.MINUTES, 3L), fired::add);
+		List<ScheduledSequence> selfCancelling = new ArrayList<>();
+		selfCancelling.add(scheduler.register(sequence(START.plusMinutes(2), 1L, ChronoUnit.MINUTES, null),
+				point -> selfCancelling.get(0).cancel()));
+		assertThat(scheduler.size()).isEqualTo(3);
+
+		cancelled.cancel();
+		clock.set(START.plusHours(1));
+		assertThat(scheduler.advance()).isEqualTo(4);
+
+		assertThat(fired).hasSize(3);
+		assertThat(cancelled.isDone()).isTrue();
+		assertThat(limited.isDone()).isTrue();
+		assertThat(selfCancelling.get(0).isDone()).isTrue();
+		assertThat(scheduler.size()).isZero();
+		assertThat(scheduler.nextWakeUp()).isNull();
+
+		// Cancelling on the last point of the sequence counts the registration out once
+		ScheduledSequence running = scheduler.register(sequence(START.plusHours(2), 1L, ChronoUnit.HOURS, null), fired::add);
+		selfCancelling.add(scheduler.register(sequence(START.plusHours(1).plusMinutes(1), 1L, ChronoUnit.MINUTES, 1L),
+				point -> selfCancelling.get(1).cancel()));
+		assertThat(scheduler.size()).isEqualTo(2);
+
+		clock.set(START.plusHours(1).plusMinutes(30));
+		assertThat(scheduler.advance()).isEqualTo(1);
+		assertThat(selfCancelling.get(1).isDone()).isTrue();
+		assertThat(running.isDone()).isFalse();
+		assertThat(scheduler.size()).isEqualTo(1);
+	}
+
+	@Test
+	void testZonedPointsAndDecrementingSequences() {
+		List<TimePoint> fired = new ArrayList<>();
+		TimePoint zonedStart = TimePoint.from(START.plusHours(1).atZone(ZoneId.of("Europe/Paris")));
+		scheduler.register(new TimePointSequence(zonedStart, ChronoUnit.HOURS, 1L, 1L, ChronoUnit.DAYS,
+				EventRelationship.START_TO_START, null, null, null, null, DateTimeFormatter.ISO_LOCAL_DATE_TIME, true,
+				new LinkedList<>(), new LinkedList<>()), fired::add);
+
+		// 01:00 in Paris is midnight UTC
+		assertThat(scheduler.advance()).isEqualTo(1);
+		assertThat(fired).containsExactly(zonedStart);
+		assertThatThrownBy(() -> scheduler.register(new TimePointSequence(zonedStart, ChronoUnit.HOURS, 1L, 1L,
+				ChronoUnit.DAYS, EventRelationship.START_TO_START, null, null, null, null,
+				DateTimeFormatter.ISO_LOCAL_DATE_TIME, false, new LinkedList<>(), new LinkedList<>()), fired::add))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static TimePoint point(LocalDateTime localDateTime) {
+		return TimePoint.from(localDateTime);
+	}
+
+	private static TimePointSequence sequence(LocalDateTime start, Long cycleCount, TemporalUnit cycleUnit, Long maximumPointCount) {
+		return new TimePointSequence(point(start), cycleUnit, cycleCount, 1L, ChronoUnit.DAYS, EventRelationship.START_TO_START,
+				null, maximumPointCount, null, null, DateTimeFormatter.ISO_LOCAL_DATE_TIME, true, new LinkedList<>(),
+				new LinkedList<>());
+	}
+
+	private static class MutableClock extends Clock {
+		private Instant instant;
+
+		private MutableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		private void set(LocalDateTime localDateTime) {
+			instant = localDateTime.toInstant(ZoneOffset.UTC);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+}
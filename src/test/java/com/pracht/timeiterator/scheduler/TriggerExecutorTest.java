@@ -0,0 +1,133 @@
+package com.pracht.timeiterator.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pracht.timeiterator.TimePointSequence;
+import com.pracht.timeiterator.model.EventRelationship;
+import com.pracht.timeiterator.model.TimePoint;
+
+public class TriggerExecutorTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	private TriggerExecutor executor;
+
+	private CountDownLatch release;
+
+	@BeforeEach
+	public void setupBeforeEach() {
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	public void teardownAfterEach() {
+		release.countDown();
+		executor.close();
+	}
+
+	@Test
+	void testLaneConcurrencyLimit() throws InterruptedException {
+		executor = TriggerExecutor.builder().platformThreads(8).build();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger mostRunning = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(2);
+		CountDownLatch finished = new CountDownLatch(20);
+		Consumer<TimePoint> lane = executor.lane(point -> {
+			mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			started.countDown();
+			await(release);
+			running.decrementAndGet();
+			finished.countDown();
+		}, 2);
+
+		for (int i = 0; i < 20; i++) {
+			lane.accept(TimePoint.from(START.plusMinutes(i)));
+		}
+		assertThat(executor.getQueuedCount()).isEqualTo(18);
+		assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+		release.countDown();
+
+		assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(mostRunning.get()).isEqualTo(2);
+		assertThat(executor.getQueuedCount()).isZero();
+		assertThat(executor.isVirtual()).isEqualTo(Runtime.version().feature() >= 21);
+	}
+
+	@Test
+	void testFullBurstQueueRejectsWithoutBlockingOtherLanes() throws InterruptedException {
+		executor = TriggerExecutor.builder().burstQueueCapacity(3).platformThreads(4).build();
+		List<TimePoint> blockedPoints = new CopyOnWriteArrayList<>();
+		CountDownLatch blockedFinished = new CountDownLatch(4);
+		Consumer<TimePoint> blocked = executor.lane(point -> {
+			await(release);
+			blockedPoints.add(point);
+			blockedFinished.countDown();
+		});
+		CountDownLatch otherFinished = new CountDownLatch(1);
+		Consumer<TimePoint> other = executor.lane(point -> otherFinished.countDown());
+
+		for (int i = 0; i < 10; i++) {
+			blocked.accept(TimePoint.from(START.plusMinutes(i)));
+		}
+		other.accept(TimePoint.from(START));
+
+		assertThat(otherFinished.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(executor.getQueuedCount()).isEqualTo(3);
+		assertThat(executor.getRejectedCount()).isEqualTo(6L);
+		release.countDown();
+		assertThat(blockedFinished.await(10, TimeUnit.SECONDS)).isTrue();
+		// A lane with a limit of one runs its fires in order
+		assertThat(blockedPoints).containsExactly(TimePoint.from(START), TimePoint.from(START.plusMinutes(1)),
+				TimePoint.from(START.plusMinutes(2)), TimePoint.from(START.plusMinutes(3)));
+		assertThatThrownBy(() -> executor.lane(point -> {
+		}, 0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testScheduledSequenceRunsOnTheExecutor() throws InterruptedException {
+		executor = TriggerExecutor.builder().concurrencyLimit(4).build();
+		TimingWheelScheduler scheduler = TimingWheelScheduler.of(
+				Clock.fixed(START.plusHours(1).toInstant(ZoneOffset.UTC), ZoneOffset.UTC), Duration.ofSeconds(1));
+		TimePointSequence everyMinute = new TimePointSequence(TimePoint.from(START), ChronoUnit.MINUTES, 1L, 1L, ChronoUnit.DAYS,
+				EventRelationship.START_TO_START, null, 10L, null, null, DateTimeFormatter.ISO_LOCAL_DATE_TIME, true,
+				new LinkedList<>(), new LinkedList<>());
+		List<Thread> threads = new CopyOnWriteArrayList<>();
+		CountDownLatch finished = new CountDownLatch(10);
+		executor.schedule(scheduler, everyMinute, point -> {
+			threads.add(Thread.currentThread());
+			finished.countDown();
+		});
+
+		assertThat(scheduler.advance()).isEqualTo(10);
+		assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(threads).doesNotContain(Thread.currentThread());
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}